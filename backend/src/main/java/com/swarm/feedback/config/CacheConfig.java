@@ -0,0 +1,34 @@
+package com.swarm.feedback.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches are Caffeine-backed (size and TTL bounded via spring.cache.caffeine.spec).
+ * Boot already binds the raw cache.gets/cache.evictions meters per cache; this
+ * adds a cache.hit.ratio gauge for each one.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String SUBMISSIONS = "submissions";
+
+    public static final String SUBMISSIONS_BY_STATUS = "submissionsByStatus";
+
+    @Bean
+    public MeterBinder cacheHitRatioMetrics(CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(name -> {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                Gauge.builder("cache.hit.ratio", cache, c -> c.getNativeCache().stats().hitRate())
+                        .tag("cache", name)
+                        .register(registry);
+            }
+        });
+    }
+}
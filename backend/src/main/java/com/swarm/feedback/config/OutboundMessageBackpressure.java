@@ -0,0 +1,42 @@
+package com.swarm.feedback.config;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Sheds notification (STOMP MESSAGE) frames on the client outbound channel
+ * once the executor's queue is within {@code reserved} slots of capacity.
+ * Protocol frames (CONNECTED, RECEIPT, ERROR, heartbeats) always go through,
+ * using the reserved slots or, past them, the caller's thread, so a client is
+ * never left half-way through its handshake.
+ */
+class OutboundMessageBackpressure implements ChannelInterceptor {
+
+    private final ThreadPoolTaskExecutor executor;
+
+    private final int sheddingThreshold;
+
+    private final Counter dropped;
+
+    OutboundMessageBackpressure(ThreadPoolTaskExecutor executor, int queueCapacity, int reserved, Counter dropped) {
+        this.executor = executor;
+        this.sheddingThreshold = Math.max(0, queueCapacity - reserved);
+        this.dropped = dropped;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE
+                && executor.getQueueSize() >= sheddingThreshold) {
+            dropped.increment();
+            return null;
+        }
+        return message;
+    }
+}
@@ -0,0 +1,77 @@
+package com.swarm.feedback.config;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.AbstractSubProtocolEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which users have a {@code /topic/user/{id}} subscription on this node, so
+ * cluster-wide notifications are only coalesced and sent where someone listens.
+ */
+@Component
+public class UserTopicSubscriptions {
+
+    static final String USER_TOPIC_PREFIX = "/topic/user/";
+
+    /** sessionId -> (subscriptionId -> userId) */
+    private final Map<String, Map<String, String>> bySession = new ConcurrentHashMap<>();
+
+    private final Map<String, Integer> subscriberCounts = new ConcurrentHashMap<>();
+
+    public boolean hasLocalSubscriber(String userId) {
+        return subscriberCounts.containsKey(userId);
+    }
+
+    public int getSubscribedUserCount() {
+        return subscriberCounts.size();
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = headers(event);
+        String destination = headers.getDestination();
+        if (headers.getSessionId() == null || destination == null || !destination.startsWith(USER_TOPIC_PREFIX)) {
+            return;
+        }
+        String userId = destination.substring(USER_TOPIC_PREFIX.length());
+        String previous = bySession.computeIfAbsent(headers.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(headers.getSubscriptionId(), userId);
+        if (previous == null) {
+            subscriberCounts.merge(userId, 1, Integer::sum);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = headers(event);
+        Map<String, String> subscriptions = headers.getSessionId() == null ? null : bySession.get(headers.getSessionId());
+        if (subscriptions != null && headers.getSubscriptionId() != null) {
+            release(subscriptions.remove(headers.getSubscriptionId()));
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = bySession.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    private void release(String userId) {
+        if (userId != null) {
+            subscriberCounts.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private static SimpMessageHeaderAccessor headers(AbstractSubProtocolEvent event) {
+        return SimpMessageHeaderAccessor.wrap(event.getMessage());
+    }
+}
@@ -1,18 +1,12 @@
 package com.swarm.feedback.config;
 
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
-    @Override
-    public void addResourceHandlers(@org.springframework.lang.NonNull ResourceHandlerRegistry registry) {
-        // Serve files from the 'uploads' directory
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:uploads/");
-    }
+    // Files under /uploads are served by UploadController
 
     @org.springframework.beans.factory.annotation.Value("${cors.allowed-origins:http://localhost:5173}")
     private String[] allowedOrigins;
@@ -1,16 +1,58 @@
 package com.swarm.feedback.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * STOMP over SockJS for per-user notifications. Outbound frames go through a
+ * bounded executor; when it is nearly full, notification frames are dropped and
+ * counted while protocol frames still get through (see
+ * {@link OutboundMessageBackpressure}), and each
+ * session has a send-time and buffer limit: a client that cannot keep up is
+ * disconnected rather than holding memory, and is expected to reconnect.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private WebSocketSessionMetrics sessionMetrics;
+
+    @Value("${websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${websocket.outbound.threads:0}")
+    private int outboundThreads;
+
+    @Value("${websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${websocket.outbound.reserved-capacity:1000}")
+    private int outboundReservedCapacity;
+
     @Override
     public void configureMessageBroker(@NonNull MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic");
@@ -21,4 +63,34 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void registerStompEndpoints(@NonNull StompEndpointRegistry registry) {
         registry.addEndpoint("/ws/notifications").setAllowedOriginPatterns("*").withSockJS();
     }
+
+    @Override
+    public void configureWebSocketTransport(@NonNull WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(sessionMetrics);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(@NonNull ChannelRegistration registration) {
+        int threads = outboundThreads > 0 ? outboundThreads : Runtime.getRuntime().availableProcessors();
+        Counter rejected = Counter.builder("websocket.outbound.dropped")
+                .tag("reason", "queue-full")
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("ws-outbound-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(outboundQueueCapacity);
+        // Only protocol frames can reach a full queue; run them rather than drop them
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        registration.executor(executor);
+        registration.interceptors(new OutboundMessageBackpressure(executor, outboundQueueCapacity,
+                outboundReservedCapacity, rejected));
+
+        Gauge.builder("websocket.outbound.queued", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,65 @@
+package com.swarm.feedback.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts open WebSocket sessions and the ones closed for exceeding the send
+ * limits ({@link CloseStatus#SESSION_NOT_RELIABLE}, i.e. slow consumers).
+ */
+@Component
+public class WebSocketSessionMetrics implements WebSocketHandlerDecoratorFactory {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicInteger openSessions = new AtomicInteger();
+
+    private Counter slowConsumers;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("websocket.sessions", openSessions, AtomicInteger::get).register(meterRegistry);
+        slowConsumers = Counter.builder("websocket.sessions.dropped")
+                .tag("reason", "slow-consumer")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @NonNull
+    public WebSocketHandler decorate(@NonNull WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(@NonNull WebSocketSession session) throws Exception {
+                openSessions.incrementAndGet();
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus closeStatus)
+                    throws Exception {
+                openSessions.decrementAndGet();
+                if (CloseStatus.SESSION_NOT_RELIABLE.equals(closeStatus)) {
+                    slowConsumers.increment();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    public int getOpenSessions() {
+        return openSessions.get();
+    }
+}
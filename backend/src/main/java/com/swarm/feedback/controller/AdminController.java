@@ -0,0 +1,124 @@
+package com.swarm.feedback.controller;
+
+import com.swarm.feedback.payload.request.ActivityLogFilter;
+import com.swarm.feedback.payload.request.ExportFilter;
+import com.swarm.feedback.service.ActivityLogService;
+import com.swarm.feedback.service.ExportService;
+import com.swarm.feedback.service.RatingAggregateService;
+import com.swarm.feedback.service.RatingRebuildResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private com.swarm.feedback.repository.IndexVerifier indexVerifier;
+
+    @PostMapping("/ratings/rebuild")
+    public ResponseEntity<?> rebuildRatingAggregates() {
+        RatingRebuildResult result = ratingAggregateService.rebuild();
+        return ResponseEntity.ok(Map.of("submissionsRated", result.getSubmissionsRated(),
+                "userStats", result.getUserStats()));
+    }
+
+    @GetMapping("/indexes")
+    public ResponseEntity<?> verifyIndexes() {
+        return ResponseEntity.ok(indexVerifier.verify());
+    }
+
+    @GetMapping("/activity")
+    public ResponseEntity<?> getActivity(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String actionType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        ActivityLogFilter filter = new ActivityLogFilter();
+        filter.setUserId(userId);
+        filter.setActionType(actionType);
+        filter.setFrom(from);
+        filter.setTo(to);
+        return ResponseEntity.ok(activityLogService.getLogs(filter, cursor, size));
+    }
+
+    @GetMapping("/export/feedback")
+    public ResponseEntity<StreamingResponseBody> exportFeedback(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String submissionId) {
+        ExportFilter filter = filter(status, from, to);
+        filter.setSubmissionId(submissionId);
+        ExportService.Format exportFormat = parseFormat(format);
+        return attachment("feedback", exportFormat,
+                out -> exportService.exportFeedback(filter, exportFormat, out));
+    }
+
+    @GetMapping("/export/submissions")
+    public ResponseEntity<StreamingResponseBody> exportSubmissions(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        ExportFilter filter = filter(status, from, to);
+        ExportService.Format exportFormat = parseFormat(format);
+        return attachment("submissions", exportFormat,
+                out -> exportService.exportSubmissions(filter, exportFormat, out));
+    }
+
+    private static ExportFilter filter(String status, LocalDateTime from, LocalDateTime to) {
+        ExportFilter filter = new ExportFilter();
+        filter.setStatus(status);
+        filter.setFrom(from);
+        filter.setTo(to);
+        return filter;
+    }
+
+    private static ExportService.Format parseFormat(String format) {
+        try {
+            return ExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new org.springframework.web.server.ResponseStatusException(
+                    org.springframework.http.HttpStatus.BAD_REQUEST, "Error: Unsupported export format " + format);
+        }
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String name, ExportService.Format format,
+            StreamingResponseBody body) {
+        boolean csv = format == ExportService.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(body);
+    }
+}
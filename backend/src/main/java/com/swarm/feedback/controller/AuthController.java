@@ -8,6 +8,9 @@ import java.util.stream.Collectors;
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -44,6 +47,18 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    com.swarm.feedback.service.LeaderboardService leaderboardService;
+
+    @Autowired
+    com.swarm.feedback.security.services.PrincipalCache principalCache;
+
+    @Autowired
+    com.swarm.feedback.service.LastLoginService lastLoginService;
+
+    @Autowired
+    org.springframework.data.mongodb.core.MongoTemplate mongoTemplate;
+
     // @Autowired
     // com.swarm.feedback.service.ActivityLogService activityLogService;
 
@@ -65,14 +80,10 @@ public class AuthController {
         // Log login activity
         // activityLogService.logActivity(userDetails.getId(), "LOGIN", null);
 
-        // Update last login time
+        // Update last login time (write-behind, flushed in bulk)
         String userId = userDetails.getId();
         if (userId != null) {
-            User user = userRepository.findById(userId).orElse(null);
-            if (user != null) {
-                user.setLastLoginAt(java.time.LocalDateTime.now());
-                userRepository.save(user);
-            }
+            lastLoginService.recordLogin(userId, java.time.LocalDateTime.now());
         }
 
         return ResponseEntity.ok(new JwtResponse(jwt,
@@ -126,7 +137,8 @@ public class AuthController {
         }
 
         user.setRoles(roles);
-        userRepository.save(user);
+        // insert, not save: a new account must never overwrite an existing document
+        leaderboardService.update(userRepository.insert(user));
 
         // Log signup activity
         // activityLogService.logActivity(savedUser.getId(), "SIGNUP", null);
@@ -141,9 +153,12 @@ public class AuthController {
                 .orElseThrow(() -> new RuntimeException("Error: User not found with email: " + request.getEmail()));
 
         String token = java.util.UUID.randomUUID().toString();
-        user.setResetPasswordToken(token);
-        user.setResetPasswordTokenExpiry(java.time.LocalDateTime.now().plusMinutes(15)); // 15 mins expiry
-        userRepository.save(user);
+        mongoTemplate.updateFirst(byId(user.getId()),
+                new Update()
+                        .set("resetPasswordToken", token)
+                        // 15 mins expiry
+                        .set("resetPasswordTokenExpiry", java.time.LocalDateTime.now().plusMinutes(15)),
+                User.class);
 
         String resetLink = "http://localhost:5173/reset-password?token=" + token;
 
@@ -171,10 +186,18 @@ public class AuthController {
             return ResponseEntity.badRequest().body(new MessageResponse("Error: Token expired"));
         }
 
-        user.setPasswordHash(encoder.encode(request.getNewPassword()));
-        user.setResetPasswordToken(null);
-        user.setResetPasswordTokenExpiry(null);
-        userRepository.save(user);
+        // Matching on the token as well makes it single-use under concurrent resets
+        com.mongodb.client.result.UpdateResult result = mongoTemplate.updateFirst(
+                byId(user.getId()).addCriteria(Criteria.where("resetPasswordToken").is(request.getToken())),
+                new Update()
+                        .set("passwordHash", encoder.encode(request.getNewPassword()))
+                        .unset("resetPasswordToken")
+                        .unset("resetPasswordTokenExpiry"),
+                User.class);
+        if (result.getMatchedCount() == 0) {
+            throw new RuntimeException("Error: Invalid token");
+        }
+        principalCache.invalidate(user.getUsername());
 
         return ResponseEntity.ok(new MessageResponse("Password changed successfully!"));
     }
@@ -191,4 +214,8 @@ public class AuthController {
             mailSender.send(message);
         }
     }
+
+    private static Query byId(String userId) {
+        return Query.query(Criteria.where("_id").is(userId));
+    }
 }
@@ -1,7 +1,12 @@
 package com.swarm.feedback.controller;
 
+import com.swarm.feedback.event.FeedbackCreatedEvent;
+import com.swarm.feedback.event.FeedbackEventPipeline;
 import com.swarm.feedback.model.Feedback;
 import com.swarm.feedback.payload.request.FeedbackRequest;
+import com.swarm.feedback.payload.response.FeedbackAdminResponse;
+import com.swarm.feedback.payload.response.PageResponse;
+import com.swarm.feedback.repository.KeysetPager;
 import com.swarm.feedback.payload.response.MessageResponse;
 import com.swarm.feedback.repository.SubmissionRepository;
 import com.swarm.feedback.security.services.UserDetailsImpl;
@@ -13,8 +18,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-
 import java.util.List;
 
 @RestController
@@ -34,7 +37,13 @@ public class FeedbackController {
     private com.swarm.feedback.repository.UserRepository userRepository;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private FeedbackEventPipeline feedbackEventPipeline;
+
+    @Autowired
+    private com.swarm.feedback.service.ReputationService reputationService;
+
+    @Autowired
+    private KeysetPager keysetPager;
 
     @PostMapping
     @SuppressWarnings("null") // Suppress IDE null analysis warnings as inputs are validated
@@ -61,100 +70,73 @@ public class FeedbackController {
 
         Feedback savedFeedback = feedbackService.createFeedback(feedback);
 
-        // Log activity if not anonymous
-        if (!"anonymous".equals(reviewerId)) {
-            java.util.Map<String, Object> details = new java.util.HashMap<>();
-            details.put("feedbackId", savedFeedback.getId());
-            details.put("submissionId", savedFeedback.getSubmissionId());
-            details.put("rating", savedFeedback.getRating());
-            activityLogService.logActivity(reviewerId, "GIVE_FEEDBACK", details);
-
-            // Reputation Logic
-            userRepository.findById(reviewerId).ifPresent(reviewer -> {
-                reviewer.setPoints(reviewer.getPoints() + 5);
-                reviewer.setReviewsGiven(reviewer.getReviewsGiven() + 1);
-
-                // Simple Level Logic
-                if (reviewer.getPoints() >= 500)
-                    reviewer.setLevel("Gold");
-                else if (reviewer.getPoints() >= 100)
-                    reviewer.setLevel("Silver");
-                else
-                    reviewer.setLevel("Bronze");
-
-                userRepository.save(reviewer);
-            });
-        }
-
-        // Real-time Notification & Submitter Score Update
-        submissionRepository.findById(savedFeedback.getSubmissionId()).ifPresent(submission -> {
-            String ownerId = submission.getOwnerUserId();
-
-            // Update Submitter Stats
-            userRepository.findById(ownerId).ifPresent(submitter -> {
-                java.util.List<Feedback> allReceived = feedbackService.getFeedbackReceivedByUserId(ownerId);
-                double avg = allReceived.stream()
-                        .filter(f -> "APPROVED".equals(f.getStatus()))
-                        .mapToInt(Feedback::getRating)
-                        .average()
-                        .orElse(0.0);
-                submitter.setRatings(avg);
-                userRepository.save(submitter);
-            });
-
-            // WebSocket Notification
-            messagingTemplate.convertAndSend("/topic/user/" + ownerId,
-                    java.util.Map.of("type", "NEW_FEEDBACK", "submissionId", submission.getId()));
-        });
+        // Activity log, reputation, submitter rating and notification run off the
+        // request thread
+        feedbackEventPipeline.publish(new FeedbackCreatedEvent(savedFeedback));
 
         return ResponseEntity.ok(new MessageResponse("Feedback submitted successfully!"));
     }
 
     @GetMapping
-    public ResponseEntity<List<java.util.Map<String, Object>>> getAllFeedback() {
-        List<Feedback> feedbacks = feedbackService.getAllFeedback();
-        List<java.util.Map<String, Object>> enrichedFeedbacks = feedbacks.stream().map(feedback -> {
-            java.util.Map<String, Object> map = new java.util.HashMap<>();
-            map.put("id", feedback.getId());
-            map.put("submissionId", feedback.getSubmissionId());
-            map.put("reviewerUserId", feedback.getReviewerUserId());
-            map.put("comments", feedback.getComments());
-            map.put("rating", feedback.getRating());
-            map.put("status", feedback.getStatus());
-            map.put("rejectionReason", feedback.getRejectionReason());
-            map.put("createdAt", feedback.getCreatedAt());
-
-            String reviewerId = feedback.getReviewerUserId();
-            if (reviewerId != null) {
-                userRepository.findById(reviewerId).ifPresent(user -> {
-                    map.put("reviewerUsername", user.getUsername());
-                });
-            }
-
-            String submissionId = feedback.getSubmissionId();
-            if (submissionId != null) {
-                submissionRepository.findById(submissionId).ifPresent(submission -> {
-                    map.put("submissionTitle", submission.getTitle());
-                });
-            }
-
-            map.put("submitterReply", feedback.getSubmitterReply());
-            map.put("submitterRepliedAt", feedback.getSubmitterRepliedAt());
-
-            return map;
-        }).collect(java.util.stream.Collectors.toList());
-
-        return ResponseEntity.ok(enrichedFeedbacks);
+    public ResponseEntity<?> getAllFeedback(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean unpaged) {
+        if (keysetPager.isUnpaged(unpaged)) {
+            return ResponseEntity.ok(enrich(feedbackService.getAllFeedback()));
+        }
+        PageResponse<Feedback> page = feedbackService.getAllFeedbackPage(cursor, keysetPager.resolveSize(size));
+        return ResponseEntity.ok(new PageResponse<>(enrich(page.getItems()), page.getNextCursor()));
+    }
+
+    private List<FeedbackAdminResponse> enrich(List<Feedback> feedbacks) {
+        // Batch-fetch reviewer names and submission titles: three queries in total,
+        // regardless of how many feedback rows there are
+        java.util.Set<String> reviewerIds = feedbacks.stream()
+                .map(Feedback::getReviewerUserId)
+                .filter(java.util.Objects::nonNull)
+                .collect(java.util.stream.Collectors.toSet());
+        java.util.Set<String> submissionIds = feedbacks.stream()
+                .map(Feedback::getSubmissionId)
+                .filter(java.util.Objects::nonNull)
+                .collect(java.util.stream.Collectors.toSet());
+
+        java.util.Map<String, String> usernames = reviewerIds.isEmpty() ? java.util.Collections.<String, String>emptyMap()
+                : userRepository.findByIdIn(reviewerIds).stream()
+                        .filter(u -> u.getUsername() != null)
+                        .collect(java.util.stream.Collectors.toMap(
+                                com.swarm.feedback.repository.UserRepository.UsernameView::getId,
+                                com.swarm.feedback.repository.UserRepository.UsernameView::getUsername));
+        java.util.Map<String, String> titles = submissionIds.isEmpty() ? java.util.Collections.<String, String>emptyMap()
+                : submissionRepository.findByIdIn(submissionIds).stream()
+                        .filter(s -> s.getTitle() != null)
+                        .collect(java.util.stream.Collectors.toMap(
+                                SubmissionRepository.TitleView::getId,
+                                SubmissionRepository.TitleView::getTitle));
+
+        List<FeedbackAdminResponse> enrichedFeedbacks = feedbacks.stream()
+                .map(feedback -> FeedbackAdminResponse.from(feedback,
+                        usernames.get(feedback.getReviewerUserId()),
+                        titles.get(feedback.getSubmissionId())))
+                .collect(java.util.stream.Collectors.toList());
+
+        return enrichedFeedbacks;
     }
 
     @GetMapping("/my")
-    public List<Feedback> getMyFeedback() {
+    public ResponseEntity<?> getMyFeedback(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean unpaged) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         String userId = userDetails.getId();
         boolean isAdmin = userDetails.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
 
+        if (!keysetPager.isUnpaged(unpaged)) {
+            return ResponseEntity.ok(feedbackService.getFeedbackForUserPage(userId, isAdmin, cursor,
+                    keysetPager.resolveSize(size)));
+        }
+
         List<Feedback> feedback = new java.util.ArrayList<>();
 
         // If reviewer, get feedback given (Always see own)
@@ -170,7 +152,7 @@ public class FeedbackController {
         feedback.addAll(received);
 
         // Remove duplicates if any (though unlikely to overlap unless self-review)
-        return feedback.stream().distinct().collect(java.util.stream.Collectors.toList());
+        return ResponseEntity.ok(feedback.stream().distinct().collect(java.util.stream.Collectors.toList()));
     }
 
     @PostMapping("/{id}/reply")
@@ -182,12 +164,9 @@ public class FeedbackController {
         }
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-        return feedbackService.getAllFeedback().stream()
-                .filter(f -> f.getId().equals(id))
-                .findFirst()
+        return feedbackService.getFeedbackById(id)
                 .map(feedback -> {
-                    // Verify ownership: currently we need to check if the submission belongs to
-                    // this user
+                    // Verify ownership: the submission must belong to this user
                     String submissionId = feedback.getSubmissionId();
                     if (submissionId == null) {
                         return ResponseEntity.status(500)
@@ -204,13 +183,13 @@ public class FeedbackController {
                             return ResponseEntity.badRequest().body(new MessageResponse("Reply cannot be empty."));
                         }
 
-                        feedback.setSubmitterReply(reply);
-                        feedback.setSubmitterRepliedAt(java.time.LocalDateTime.now());
-                        feedbackService.createFeedback(feedback);
+                        if (feedbackService.replyToFeedback(id, reply).isEmpty()) {
+                            return ResponseEntity.notFound().build();
+                        }
 
                         // Log
                         java.util.Map<String, Object> details = new java.util.HashMap<>();
-                        details.put("feedbackId", feedback.getId());
+                        details.put("feedbackId", id);
                         details.put("action", "REPLY");
                         activityLogService.logActivity(userDetails.getId(), "REPLY_TO_FEEDBACK", details);
 
@@ -220,6 +199,31 @@ public class FeedbackController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @PutMapping("/{id}/helpful")
+    public ResponseEntity<?> markFeedbackHelpful(@PathVariable String id) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl)) {
+            return ResponseEntity.status(401).body(new MessageResponse("Unauthorized"));
+        }
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        return feedbackService.getFeedbackById(id)
+                .filter(feedback -> feedback.getSubmissionId() != null)
+                .map(feedback -> submissionRepository.findById(feedback.getSubmissionId()).map(submission -> {
+                    if (!userDetails.getId().equals(submission.getOwnerUserId())) {
+                        return ResponseEntity.status(403)
+                                .body(new MessageResponse("Only the project owner can mark feedback as helpful."));
+                    }
+
+                    // Only the first vote counts toward the reviewer's helpfulVotes
+                    feedbackService.markHelpful(id)
+                            .ifPresent(marked -> reputationService.recordHelpfulVote(marked.getReviewerUserId()));
+
+                    return ResponseEntity.ok(new MessageResponse("Feedback marked as helpful."));
+                }).orElse(ResponseEntity.notFound().build()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateFeedback(@PathVariable String id, @RequestBody FeedbackRequest feedbackRequest) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -232,14 +236,8 @@ public class FeedbackController {
             return ResponseEntity.status(403).body(new MessageResponse("Error: Admin access required."));
         }
 
-        return feedbackService.getAllFeedback().stream() // Inefficient but simple for now
-                .filter(f -> f.getId().equals(id))
-                .findFirst()
+        return feedbackService.updateFeedbackContent(id, feedbackRequest.getComments(), feedbackRequest.getRating())
                 .map(feedback -> {
-                    feedback.setComments(feedbackRequest.getComments());
-                    feedback.setRating(feedbackRequest.getRating());
-                    feedbackService.createFeedback(feedback); // save
-
                     // Log activity
                     java.util.Map<String, Object> details = new java.util.HashMap<>();
                     details.put("feedbackId", feedback.getId());
@@ -270,16 +268,8 @@ public class FeedbackController {
             return ResponseEntity.badRequest().body(new MessageResponse("Error: Invalid status."));
         }
 
-        return feedbackService.getAllFeedback().stream()
-                .filter(f -> f.getId().equals(id))
-                .findFirst()
+        return feedbackService.updateFeedbackStatus(id, newStatus, payload.get("rejectionReason"))
                 .map(feedback -> {
-                    feedback.setStatus(newStatus);
-                    if ("REJECTED".equals(newStatus) && payload.containsKey("rejectionReason")) {
-                        feedback.setRejectionReason(payload.get("rejectionReason"));
-                    }
-                    feedbackService.createFeedback(feedback); // save
-
                     // Log activity
                     java.util.Map<String, Object> details = new java.util.HashMap<>();
                     details.put("feedbackId", feedback.getId());
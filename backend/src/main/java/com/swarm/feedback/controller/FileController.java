@@ -1,57 +1,122 @@
 package com.swarm.feedback.controller;
 
+import com.swarm.feedback.payload.request.CompleteUploadRequest;
+import com.swarm.feedback.payload.request.UploadSessionRequest;
 import com.swarm.feedback.payload.response.MessageResponse;
+import com.swarm.feedback.service.ChunkedUploadService;
+import com.swarm.feedback.service.FileStorageService;
+import com.swarm.feedback.service.StoredFile;
+import com.swarm.feedback.service.ThumbnailService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.StringUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.Map;
-import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/files")
 public class FileController {
 
-    private final Path fileStorageLocation;
+    @Autowired
+    private FileStorageService fileStorageService;
 
-    public FileController() {
-        this.fileStorageLocation = Paths.get("uploads").toAbsolutePath().normalize();
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    @PostMapping("/upload")
+    public ResponseEntity<?> uploadFile(@RequestParam("file") MultipartFile file) {
         try {
-            Files.createDirectories(this.fileStorageLocation);
-        } catch (Exception ex) {
-            throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
+            return ResponseEntity.ok(Map.of("url", urlFor(fileStorageService.store(file))));
+        } catch (IOException ex) {
+            return ResponseEntity.status(500)
+                    .body(new MessageResponse("Could not store file " + file.getOriginalFilename()
+                            + ". Please try again!"));
         }
     }
 
-    @PostMapping("/upload")
-    public ResponseEntity<?> uploadFile(@RequestParam("file") MultipartFile file) {
-        String fileName = StringUtils.cleanPath(Objects.requireNonNull(file.getOriginalFilename()));
+    /**
+     * Streaming upload: the raw request body (not multipart) is written directly
+     * to its final location. The file name comes from {@code ?name=}; its
+     * extension (else the Content-Type) decides the stored type and size limit.
+     */
+    @PostMapping("/stream")
+    public ResponseEntity<?> streamFile(@RequestParam(defaultValue = "file") String name,
+            HttpServletRequest request) {
         try {
-            if (fileName.contains("..")) {
-                return ResponseEntity.badRequest()
-                        .body(new MessageResponse("Sorry! Filename contains invalid path sequence " + fileName));
-            }
+            StoredFile stored = fileStorageService.store(request.getInputStream(), name, request.getContentType(),
+                    request.getContentLengthLong());
+            return ResponseEntity.ok(Map.of("url", urlFor(stored), "size", stored.getSize()));
+        } catch (IOException ex) {
+            return ResponseEntity.status(500)
+                    .body(new MessageResponse("Could not store file " + name + ". Please try again!"));
+        }
+    }
 
-            // Copy file to the target location (Replacing existing file with the same name)
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Resumable upload: open a session for a file of known size, PUT its chunks
+     * (in any order, in parallel) to {@code /sessions/{id}/chunks/{index}}, GET the
+     * session to see which chunks arrived, then POST {@code /complete} with the
+     * file's SHA-256.
+     */
+    @PostMapping("/sessions")
+    public ResponseEntity<?> createSession(@Valid @RequestBody UploadSessionRequest request) throws IOException {
+        return ResponseEntity.status(201).body(chunkedUploadService.create(currentUsername(), request));
+    }
 
-            String fileDownloadUri = ServletUriComponentsBuilder.fromCurrentContextPath()
-                    .path("/uploads/")
-                    .path(fileName)
-                    .toUriString();
+    @GetMapping("/sessions/{id}")
+    public ResponseEntity<?> getSession(@PathVariable String id) {
+        return ResponseEntity.ok(chunkedUploadService.status(currentUsername(), id));
+    }
 
-            return ResponseEntity.ok(Map.of("url", fileDownloadUri));
+    @PutMapping("/sessions/{id}/chunks/{index}")
+    public ResponseEntity<?> uploadChunk(@PathVariable String id, @PathVariable int index,
+            HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(chunkedUploadService.writeChunk(currentUsername(), id, index,
+                    request.getInputStream(), request.getContentLengthLong()));
+        } catch (IOException ex) {
+            return ResponseEntity.status(500)
+                    .body(new MessageResponse("Could not store chunk " + index + ". Please retry it!"));
+        }
+    }
+
+    @PostMapping("/sessions/{id}/complete")
+    public ResponseEntity<?> completeSession(@PathVariable String id,
+            @Valid @RequestBody CompleteUploadRequest request) {
+        try {
+            StoredFile stored = chunkedUploadService.complete(currentUsername(), id, request.getSha256());
+            return ResponseEntity.ok(Map.of("url", urlFor(stored), "size", stored.getSize(),
+                    "digest", stored.getDigest()));
         } catch (IOException ex) {
             return ResponseEntity.status(500)
-                    .body(new MessageResponse("Could not store file " + fileName + ". Please try again!"));
+                    .body(new MessageResponse("Could not store the uploaded file. Please try again!"));
         }
     }
+
+    @DeleteMapping("/sessions/{id}")
+    public ResponseEntity<?> abortSession(@PathVariable String id) {
+        chunkedUploadService.abort(currentUsername(), id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static String currentUsername() {
+        return SecurityContextHolder.getContext().getAuthentication().getName();
+    }
+
+    private String urlFor(StoredFile stored) {
+        thumbnailService.generateAsync(stored.getFileName());
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/uploads/")
+                .path(stored.getFileName())
+                .toUriString();
+    }
 }
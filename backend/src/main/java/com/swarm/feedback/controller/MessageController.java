@@ -1,6 +1,7 @@
 package com.swarm.feedback.controller;
 
 import com.swarm.feedback.model.Message;
+import com.swarm.feedback.repository.KeysetPager;
 import com.swarm.feedback.repository.MessageRepository;
 import com.swarm.feedback.security.services.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +19,9 @@ public class MessageController {
     @Autowired
     private MessageRepository messageRepository;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
     @PostMapping
     public ResponseEntity<?> createMessage(@RequestBody Message message) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -34,7 +38,9 @@ public class MessageController {
     }
 
     @GetMapping
-    public ResponseEntity<?> getAllMessages() {
+    public ResponseEntity<?> getAllMessages(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean unpaged) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         // Assuming authentication is already checked via security config, but getting
         // principal needs caution if anonymous
@@ -49,6 +55,10 @@ public class MessageController {
             return ResponseEntity.status(403).body(Map.of("message", "Admin access required"));
         }
 
-        return ResponseEntity.ok(messageRepository.findAllByOrderByCreatedAtDesc());
+        if (keysetPager.isUnpaged(unpaged)) {
+            return ResponseEntity.ok(messageRepository.findAllByOrderByCreatedAtDesc());
+        }
+        return ResponseEntity.ok(keysetPager.page(null, cursor, keysetPager.resolveSize(size), Message.class,
+                Message::getCreatedAt, Message::getId));
     }
 }
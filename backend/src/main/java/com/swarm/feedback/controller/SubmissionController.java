@@ -3,17 +3,21 @@ package com.swarm.feedback.controller;
 import com.swarm.feedback.model.Submission;
 import com.swarm.feedback.payload.request.SubmissionRequest;
 import com.swarm.feedback.payload.response.MessageResponse;
+import com.swarm.feedback.repository.KeysetPager;
 import com.swarm.feedback.security.services.UserDetailsImpl;
+import com.swarm.feedback.service.ApprovedFeedSnapshot;
 import com.swarm.feedback.service.SubmissionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/submissions")
 public class SubmissionController {
@@ -24,6 +28,12 @@ public class SubmissionController {
     @Autowired
     private com.swarm.feedback.service.ActivityLogService activityLogService;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private com.swarm.feedback.service.ApprovedFeedService approvedFeedService;
+
     @PostMapping
     public ResponseEntity<?> createSubmission(@Valid @RequestBody SubmissionRequest submissionRequest) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -47,7 +57,11 @@ public class SubmissionController {
     }
 
     @GetMapping
-    public List<Submission> getAllSubmissions() {
+    public ResponseEntity<?> getAllSubmissions(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean unpaged,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         boolean isAdmin = false;
@@ -57,19 +71,50 @@ public class SubmissionController {
                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
         }
 
+        if (keysetPager.isUnpaged(unpaged)) {
+            return isAdmin ? ResponseEntity.ok(submissionService.getAllSubmissions())
+                    : approvedFeed(ifNoneMatch, acceptEncoding);
+        }
+
+        int pageSize = keysetPager.resolveSize(size);
         if (isAdmin) {
-            return submissionService.getAllSubmissions();
+            return ResponseEntity.ok(submissionService.getSubmissionsPage(cursor, pageSize));
         } else {
-            return submissionService.getSubmissionsByStatus("APPROVED");
+            return ResponseEntity.ok(submissionService.getSubmissionsByStatusPage("APPROVED", cursor, pageSize));
         }
     }
 
+    // Approved feed straight from the in-memory snapshot: no query, no serialization
+    private ResponseEntity<byte[]> approvedFeed(String ifNoneMatch, String acceptEncoding) {
+        ApprovedFeedSnapshot snapshot = approvedFeedService.getSnapshot();
+        if (ifNoneMatch != null && (ifNoneMatch.equals("*") || java.util.Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim).anyMatch(snapshot.getEtag()::equals))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getEtag()).build();
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
+        return response.body(snapshot.getJson());
+    }
+
     @GetMapping("/my")
-    public List<Submission> getMySubmissions() {
+    public ResponseEntity<?> getMySubmissions(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean unpaged) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-        return submissionService.getSubmissionsByUserId(userDetails.getId());
+        if (keysetPager.isUnpaged(unpaged)) {
+            return ResponseEntity.ok(submissionService.getSubmissionsByUserId(userDetails.getId()));
+        }
+        return ResponseEntity.ok(submissionService.getSubmissionsByUserIdPage(userDetails.getId(), cursor,
+                keysetPager.resolveSize(size)));
     }
 
     @GetMapping("/{id}")
@@ -98,13 +143,8 @@ public class SubmissionController {
             return ResponseEntity.badRequest().body(new MessageResponse("Error: Invalid status."));
         }
 
-        return submissionService.getSubmissionById(id)
+        return submissionService.updateSubmissionStatus(id, newStatus, payload.get("rejectionReason"))
                 .map(submission -> {
-                    submission.setStatus(newStatus);
-                    if ("REJECTED".equals(newStatus) && payload.containsKey("rejectionReason")) {
-                        submission.setRejectionReason(payload.get("rejectionReason"));
-                    }
-                    submissionService.createSubmission(submission); // save
 
                     // Log activity
                     java.util.Map<String, Object> details = new java.util.HashMap<>();
@@ -0,0 +1,290 @@
+package com.swarm.feedback.controller;
+
+import com.swarm.feedback.service.FileStorageService;
+import com.swarm.feedback.service.ThumbnailService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves {@code /uploads/*}. Content-addressed names ({@code <sha-256>.<ext>})
+ * never change, so they get the digest as a strong ETag and an immutable
+ * Cache-Control; other (legacy) names are revalidated on every use. Full and
+ * single-range responses are handed to Tomcat's sendfile so the bytes go from
+ * the page cache to the socket without passing through the JVM; multi-range
+ * requests (and containers without sendfile) fall back to Spring's
+ * ResourceRegion support. Compressible types get a gzip variant, built once,
+ * and images have fixed-size thumbnails under {@code /uploads/w<size>/<name>}.
+ */
+@RestController
+@RequestMapping("/uploads")
+public class UploadController {
+
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("([0-9a-f]{64})(\\.[a-z0-9]{1,10})?");
+
+    private static final String PART_SUFFIX = ".part";
+
+    private static final Set<String> COMPRESSIBLE = Set.of("image/svg+xml", "application/json", "application/xml",
+            "application/javascript");
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${uploads.immutable-max-age-days:365}")
+    private long immutableMaxAgeDays;
+
+    @GetMapping("/{fileName:.+}")
+    public ResponseEntity<?> serve(@PathVariable String fileName, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Path file = resolveUpload(fileName);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        MediaType contentType = MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        HttpHeaders headers = baseHeaders(contentType);
+        Matcher contentAddressed = CONTENT_ADDRESSED.matcher(fileName);
+        String immutableEtag = null;
+        if (contentAddressed.matches()) {
+            immutableEtag = contentAddressed.group(1);
+            if (isCompressible(contentType)) {
+                headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+                if (acceptsGzip(request)) {
+                    file = gzipVariant(file, fileName);
+                    immutableEtag += "-gz";
+                    headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                }
+            }
+        }
+        return serveFile(file, immutableEtag, headers, request, response);
+    }
+
+    /**
+     * Thumbnail of an uploaded image ({@code /uploads/w80/<name>}), generated on
+     * first request for files that predate the pipeline. Anything that cannot be
+     * thumbnailed redirects to the original.
+     */
+    @GetMapping("/w{size}/{fileName:.+}")
+    public ResponseEntity<?> serveThumbnail(@PathVariable int size, @PathVariable String fileName,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (resolveUpload(fileName) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Path thumbnail = thumbnailService.thumbnail(fileName, size);
+        if (thumbnail == null) {
+            meterRegistry.counter("uploads.served", "mode", "thumbnail-fallback").increment();
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(ServletUriComponentsBuilder.fromContextPath(request)
+                            .path("/uploads/").path(fileName).build().toUri())
+                    .build();
+        }
+
+        MediaType contentType = MediaTypeFactory.getMediaType(thumbnail.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        Matcher contentAddressed = CONTENT_ADDRESSED.matcher(fileName);
+        String immutableEtag = contentAddressed.matches() ? contentAddressed.group(1) + "-w" + size : null;
+        return serveFile(thumbnail, immutableEtag, baseHeaders(contentType), request, response);
+    }
+
+    /**
+     * The stored file for a requested name, or null. Any name the upload paths
+     * have ever stored is served (legacy names include spaces, parentheses and
+     * the like), as long as it resolves to a file directly inside the upload
+     * directory; dotfiles and in-progress {@code .part} files are never served.
+     */
+    private Path resolveUpload(String fileName) {
+        if (fileName.isEmpty() || fileName.startsWith(".") || fileName.endsWith(PART_SUFFIX)
+                || fileName.contains("/") || fileName.contains("\\")) {
+            return null;
+        }
+        Path uploadDir = fileStorageService.getUploadDir().toAbsolutePath().normalize();
+        Path file;
+        try {
+            file = uploadDir.resolve(fileName).normalize();
+        } catch (InvalidPathException e) {
+            return null;
+        }
+        if (!uploadDir.equals(file.getParent()) || !Files.isRegularFile(file)) {
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * Conditional, range and sendfile handling shared by originals and variants.
+     * {@code immutableEtag} is set for content-addressed files and null for files
+     * whose content may change under the same name.
+     */
+    private ResponseEntity<?> serveFile(Path file, String immutableEtag, HttpHeaders headers,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String etag;
+        if (immutableEtag != null) {
+            etag = immutableEtag;
+            headers.setCacheControl(CacheControl.maxAge(Duration.ofDays(immutableMaxAgeDays)).cachePublic()
+                    .immutable());
+        } else {
+            etag = Long.toHexString(Files.size(file)) + "-" + Long.toHexString(lastModified);
+            headers.setCacheControl(CacheControl.noCache());
+        }
+        headers.setETag("\"" + etag + "\"");
+        headers.setLastModified(lastModified);
+
+        if (notModified(request, headers.getETag(), lastModified)) {
+            meterRegistry.counter("uploads.served", "mode", "not-modified").increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+
+        long size = Files.size(file);
+        List<HttpRange> ranges = List.of();
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request, headers.getETag(), lastModified)) {
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                return unsatisfiable(headers, size);
+            }
+        }
+
+        boolean sendfile = Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))
+                && !"HEAD".equals(request.getMethod()) && size > 0;
+        if (!sendfile || ranges.size() > 1) {
+            meterRegistry.counter("uploads.served", "mode", "stream").increment();
+            return ResponseEntity.ok().headers(headers).body(new FileSystemResource(file));
+        }
+
+        long start = 0;
+        long end = size;
+        int status = HttpServletResponse.SC_OK;
+        if (ranges.size() == 1) {
+            HttpRange requested = ranges.get(0);
+            try {
+                start = requested.getRangeStart(size);
+                end = requested.getRangeEnd(size) + 1;
+            } catch (IllegalArgumentException e) {
+                return unsatisfiable(headers, size);
+            }
+            if (start >= size || end <= start) {
+                return unsatisfiable(headers, size);
+            }
+            status = HttpServletResponse.SC_PARTIAL_CONTENT;
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + size);
+        }
+
+        // Tomcat writes the file itself once the handler returns
+        response.setStatus(status);
+        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setContentLengthLong(end - start);
+        request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, end);
+        meterRegistry.counter("uploads.served", "mode", "sendfile").increment();
+        return null;
+    }
+
+    private static HttpHeaders baseHeaders(MediaType contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.set("X-Content-Type-Options", "nosniff");
+        headers.setContentType(contentType);
+        return headers;
+    }
+
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return ifNoneMatch.trim().equals("*") || List.of(ifNoneMatch.split(",")).stream()
+                    .map(String::trim)
+                    .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                    .anyMatch(etag::equals);
+        }
+        long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /** A Range is only honoured when its If-Range (if any) still names this representation. */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return lastModified / 1000 <= request.getDateHeader(HttpHeaders.IF_RANGE) / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static ResponseEntity<?> unsatisfiable(HttpHeaders headers, long size) {
+        headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+    }
+
+    private static boolean isCompressible(MediaType contentType) {
+        return "text".equals(contentType.getType()) || COMPRESSIBLE.contains(contentType.getType() + "/"
+                + contentType.getSubtype());
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    /** Gzipped copy of an immutable blob, created on first request and kept with the blob. */
+    private Path gzipVariant(Path file, String fileName) throws IOException {
+        Path variant = fileStorageService.getVariantDir().resolve(fileName + ".gz");
+        if (!Files.exists(variant)) {
+            Path temp = Files.createTempFile(fileStorageService.getVariantDir(), ".gzip-", ".part");
+            try {
+                try (GZIPOutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                    Files.copy(file, out);
+                }
+                Files.move(temp, variant, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return variant;
+    }
+}
@@ -4,6 +4,10 @@ import com.swarm.feedback.model.User;
 import com.swarm.feedback.repository.UserRepository;
 import com.swarm.feedback.security.services.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -19,13 +23,33 @@ public class UserController {
     UserRepository userRepository;
 
     @Autowired
-    com.swarm.feedback.repository.FeedbackRepository feedbackRepository;
+    com.swarm.feedback.service.UserStatsService userStatsService;
 
     @Autowired
-    com.swarm.feedback.repository.SubmissionRepository submissionRepository;
+    com.swarm.feedback.repository.KeysetPager keysetPager;
+
+    @Autowired
+    com.swarm.feedback.service.LeaderboardService leaderboardService;
+
+    @Autowired
+    com.swarm.feedback.security.services.PrincipalCache principalCache;
+
+    @Autowired
+    com.swarm.feedback.service.ActivityLogService activityLogService;
+
+    @Autowired
+    com.swarm.feedback.service.FileStorageService fileStorageService;
+
+    @Autowired
+    com.swarm.feedback.service.ThumbnailService thumbnailService;
+
+    @Autowired
+    org.springframework.data.mongodb.core.MongoTemplate mongoTemplate;
 
     @GetMapping
-    public ResponseEntity<?> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean unpaged) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
@@ -36,28 +60,40 @@ public class UserController {
             return ResponseEntity.status(403).body("Access denied");
         }
 
-        return ResponseEntity.ok(userRepository.findAll().stream().map(u -> {
-            u.setPasswordHash(null);
-            return u;
-        }).collect(java.util.stream.Collectors.toList()));
+        if (keysetPager.isUnpaged(unpaged)) {
+            return ResponseEntity.ok(userRepository.findAll().stream().map(u -> {
+                u.setPasswordHash(null);
+                return u;
+            }).collect(java.util.stream.Collectors.toList()));
+        }
+
+        com.swarm.feedback.payload.response.PageResponse<User> page = keysetPager.page(null, cursor,
+                keysetPager.resolveSize(size), User.class, User::getCreatedAt, User::getId);
+        page.getItems().forEach(u -> u.setPasswordHash(null));
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/leaderboard")
-    public ResponseEntity<?> getLeaderboard() {
-        java.util.List<User> users = userRepository.findAll();
-        // Sort in memory or use Sort parameter in findAll if available
-        users.sort((a, b) -> (b.getPoints() == null ? 0 : b.getPoints()) - (a.getPoints() == null ? 0 : a.getPoints()));
-
-        java.util.List<java.util.Map<String, Object>> result = users.stream().limit(10).map(u -> {
-            java.util.Map<String, Object> map = new java.util.HashMap<>();
-            map.put("username", u.getUsername());
-            map.put("points", u.getPoints() == null ? 0 : u.getPoints());
-            map.put("level", u.getLevel());
-            map.put("profilePic", u.getProfilePic());
-            return map;
-        }).collect(java.util.stream.Collectors.toList());
-
-        return ResponseEntity.ok(result);
+    public ResponseEntity<?> getLeaderboard(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(leaderboardService.getTop(Math.min(Math.max(limit, 1), 100)));
+    }
+
+    @GetMapping("/leaderboard/page")
+    public ResponseEntity<?> getLeaderboardPage(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.min(Math.max(size, 1), 100);
+        return ResponseEntity.ok(Map.of(
+                "items", leaderboardService.getPage(page, pageSize),
+                "page", page,
+                "size", pageSize,
+                "total", leaderboardService.size()));
+    }
+
+    @GetMapping("/{id}/rank")
+    public ResponseEntity<?> getUserRank(@PathVariable String id) {
+        return leaderboardService.getRank(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/me")
@@ -81,37 +117,36 @@ public class UserController {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("Error: User not found."));
 
-        // Calculate Ratings dynamically
-        if (user.getRoles() != null && user.getRoles().contains("ROLE_REVIEWER")) {
-            // For Reviewer: Average rating GIVEN
-            java.util.List<com.swarm.feedback.model.Feedback> givenFeedback = feedbackRepository
-                    .findAllByReviewerUserId(userId);
-            if (!givenFeedback.isEmpty()) {
-                double avg = givenFeedback.stream().mapToInt(com.swarm.feedback.model.Feedback::getRating).average()
-                        .orElse(0.0);
-                user.setRatings(avg);
-            }
-        } else {
-            // For Submitter: Average rating RECEIVED across all projects
-            java.util.List<com.swarm.feedback.model.Submission> mySubmissions = submissionRepository
-                    .findByOwnerUserId(userId);
-            if (!mySubmissions.isEmpty()) {
-                java.util.List<String> submissionIds = mySubmissions.stream()
-                        .map(com.swarm.feedback.model.Submission::getId).collect(java.util.stream.Collectors.toList());
-                java.util.List<com.swarm.feedback.model.Feedback> receivedFeedback = feedbackRepository
-                        .findAllBySubmissionIdIn(submissionIds);
-
-                // Filter for approved feedback only
-                double avg = receivedFeedback.stream()
-                        .filter(f -> "APPROVED".equals(f.getStatus()))
-                        .mapToInt(com.swarm.feedback.model.Feedback::getRating)
-                        .average().orElse(0.0);
-                user.setRatings(avg);
-            }
+        // Ratings come from maintained aggregates: reviewers see the average they
+        // gave, submitters the running average of APPROVED feedback received
+        com.swarm.feedback.payload.response.UserStatsResponse stats = userStatsService.getStats(userId)
+                .map(com.swarm.feedback.payload.response.UserStatsResponse::from)
+                .orElse(null);
+        if (user.getRoles() != null && user.getRoles().contains("ROLE_REVIEWER") && stats != null
+                && stats.getGivenAverage() != null) {
+            user.setRatings(stats.getGivenAverage());
         }
 
         user.setPasswordHash(null);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(new com.swarm.feedback.payload.response.CurrentUserResponse(user, stats));
+    }
+
+    @GetMapping("/me/activity")
+    public ResponseEntity<?> getCurrentUserActivity(
+            @RequestParam(required = false) String actionType,
+            @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime from,
+            @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        com.swarm.feedback.payload.request.ActivityLogFilter filter = new com.swarm.feedback.payload.request.ActivityLogFilter();
+        filter.setUserId(userDetails.getId());
+        filter.setActionType(actionType);
+        filter.setFrom(from);
+        filter.setTo(to);
+        return ResponseEntity.ok(activityLogService.getLogs(filter, cursor, size));
     }
 
     @PutMapping("/me")
@@ -123,24 +158,25 @@ public class UserController {
             return ResponseEntity.status(400).body("User ID is null");
         }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Error: User not found."));
+        // Only the fields in the payload are written ($set), so concurrent counter
+        // increments and rating updates on the same document are never rolled back
+        Update update = new Update();
 
         if (payload.containsKey("bio")) {
-            user.setBio((String) payload.get("bio"));
+            update.set("bio", payload.get("bio"));
         }
 
         if (payload.containsKey("name")) {
-            user.setName((String) payload.get("name"));
+            update.set("name", payload.get("name"));
         }
 
         if (payload.containsKey("age")) {
             Object ageObj = payload.get("age");
             if (ageObj instanceof Integer) {
-                user.setAge((Integer) ageObj);
+                update.set("age", ageObj);
             } else if (ageObj instanceof String) {
                 try {
-                    user.setAge(Integer.parseInt((String) ageObj));
+                    update.set("age", Integer.parseInt((String) ageObj));
                 } catch (NumberFormatException e) {
                     // ignore or handle error
                 }
@@ -148,24 +184,26 @@ public class UserController {
         }
 
         if (payload.containsKey("regNumber")) {
-            user.setRegNumber((String) payload.get("regNumber"));
+            update.set("regNumber", payload.get("regNumber"));
         }
 
         if (payload.containsKey("profilePic")) {
-            user.setProfilePic((String) payload.get("profilePic"));
+            update.set("profilePic", payload.get("profilePic"));
         }
 
         if (payload.containsKey("skills")) {
             Object skillsObj = payload.get("skills");
             if (skillsObj instanceof java.util.List) {
-                @SuppressWarnings("unchecked")
-                java.util.List<String> skillsList = (java.util.List<String>) skillsObj;
-                user.setSkills(skillsList);
+                update.set("skills", skillsObj);
             }
         }
 
-        java.util.Objects.requireNonNull(user);
-        userRepository.save(user);
+        User user = update.getUpdateObject().isEmpty()
+                ? userRepository.findById(userId).orElse(null)
+                : updateUser(userId, update);
+        if (user == null) {
+            throw new RuntimeException("Error: User not found.");
+        }
 
         user.setPasswordHash(null);
         return ResponseEntity.ok(user);
@@ -174,6 +212,33 @@ public class UserController {
     @PostMapping("/me/picture")
     public ResponseEntity<?> uploadProfilePicture(
             @RequestParam("file") org.springframework.web.multipart.MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("File is empty");
+        }
+        try {
+            return setProfilePicture(fileStorageService.store(file));
+        } catch (java.io.IOException e) {
+            return ResponseEntity.status(500).body("Failed to upload file: " + e.getMessage());
+        }
+    }
+
+    /** Streaming variant: the raw image body is written straight to uploads/. */
+    @PutMapping("/me/picture")
+    public ResponseEntity<?> streamProfilePicture(jakarta.servlet.http.HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.startsWith("image/")) {
+            return ResponseEntity.status(415).body("Profile picture must be an image");
+        }
+        try {
+            return setProfilePicture(fileStorageService.store(request.getInputStream(), "profile",
+                    contentType, request.getContentLengthLong()));
+        } catch (java.io.IOException e) {
+            return ResponseEntity.status(500).body("Failed to upload file: " + e.getMessage());
+        }
+    }
+
+    private ResponseEntity<?> setProfilePicture(com.swarm.feedback.service.StoredFile stored) {
+        thumbnailService.generateAsync(stored.getFileName());
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         String userId = userDetails.getId();
@@ -181,42 +246,29 @@ public class UserController {
             return ResponseEntity.status(400).body("User ID is null");
         }
 
-        if (file.isEmpty()) {
-            return ResponseEntity.badRequest().body("File is empty");
+        String fileUrl = org.springframework.web.servlet.support.ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/uploads/")
+                .path(stored.getFileName())
+                .toUriString();
+        User user = updateUser(userId, new Update().set("profilePic", fileUrl));
+        if (user == null) {
+            throw new RuntimeException("Error: User not found.");
         }
 
-        try {
-            // Create uploads directory if not exists
-            java.nio.file.Path uploadDir = java.nio.file.Paths.get("uploads");
-            if (!java.nio.file.Files.exists(uploadDir)) {
-                java.nio.file.Files.createDirectories(uploadDir);
-            }
-
-            // Generate unique filename
-            String filename = userId + "_" + System.currentTimeMillis() + "_" + file.getOriginalFilename();
-            java.nio.file.Path filePath = uploadDir.resolve(filename);
-
-            // Save file
-            java.nio.file.Files.copy(file.getInputStream(), filePath,
-                    java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-
-            // Update user profile pic URL
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("Error: User not found."));
-
-            // Assuming the backend runs on localhost:8082, we construct the URL
-            // In production, this should be configurable
-            String fileUrl = "http://localhost:8082/uploads/" + filename;
-            user.setProfilePic(fileUrl);
-            userRepository.save(user);
-
-            user.setPasswordHash(null);
-            return ResponseEntity.ok(user);
+        user.setPasswordHash(null);
+        return ResponseEntity.ok(user);
+    }
 
-        } catch (java.io.IOException e) {
-            e.printStackTrace();
-            return ResponseEntity.status(500).body("Failed to upload file: " + e.getMessage());
-        }
+    /**
+     * Applies a field-scoped update and repositions the leaderboard from the
+     * document as written, not from a copy read before the update.
+     */
+    private User updateUser(String userId, Update update) {
+        User user = mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(userId)), update,
+                FindAndModifyOptions.options().returnNew(true), User.class);
+        leaderboardService.update(user);
+        return user;
     }
 
     @DeleteMapping("/{id}")
@@ -235,11 +287,14 @@ public class UserController {
             return ResponseEntity.badRequest().build();
         }
 
-        if (!userRepository.existsById(id)) {
+        User user = userRepository.findById(id).orElse(null);
+        if (user == null) {
             return ResponseEntity.notFound().build();
         }
 
         userRepository.deleteById(id);
+        leaderboardService.remove(id);
+        principalCache.invalidate(user.getUsername());
         return ResponseEntity.ok(new com.swarm.feedback.payload.response.MessageResponse("User deleted successfully!"));
     }
 }
@@ -0,0 +1,37 @@
+package com.swarm.feedback.event;
+
+import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.service.ActivityLogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Order(10)
+public class ActivityLogStage implements FeedbackEventStage {
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Override
+    public String name() {
+        return "activity-log";
+    }
+
+    @Override
+    public void handle(List<FeedbackCreatedEvent> batch) {
+        // One log entry per event, so each event is its own unit
+        FeedbackEventStage.applyPerUnit(batch, event -> event.isAnonymous() ? null : event, (event, events) -> {
+            Feedback feedback = event.getFeedback();
+            Map<String, Object> details = new HashMap<>();
+            details.put("feedbackId", feedback.getId());
+            details.put("submissionId", feedback.getSubmissionId());
+            details.put("rating", feedback.getRating());
+            activityLogService.logActivity(event.getReviewerId(), "GIVE_FEEDBACK", details);
+        });
+    }
+}
@@ -0,0 +1,165 @@
+package com.swarm.feedback.event;
+
+import com.mongodb.CursorType;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Multi-node bus over a capped collection. Publishing is a plain insert; every
+ * node keeps a tailable-await cursor open on the collection and hands each new
+ * document to its subscribers, so the publisher receives its own events through
+ * the same path as everyone else. Works on a standalone server (change streams
+ * would need a replica set). The cursor starts after the newest document present
+ * at startup and resumes after the last one seen when it has to be reopened;
+ * old events simply age out of the capped collection.
+ */
+@Component
+@ConditionalOnProperty(name = "notifications.bus", havingValue = "mongo")
+public class CappedCollectionNotificationBus implements NotificationBus, SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(CappedCollectionNotificationBus.class);
+
+    static final String COLLECTION = "notification_events";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${notifications.bus.capped-size-bytes:16777216}")
+    private long cappedSizeBytes;
+
+    @Value("${notifications.bus.await-ms:1000}")
+    private long awaitMs;
+
+    @Value("${notifications.bus.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    private final List<Consumer<NotificationEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    private Thread tailer;
+
+    private volatile boolean running;
+
+    private ObjectId lastSeen;
+
+    private Counter publishedCounter;
+
+    private Counter receivedCounter;
+
+    @Override
+    public void publish(NotificationEvent event) {
+        mongoTemplate.insert(event, COLLECTION);
+        publishedCounter.increment();
+    }
+
+    @Override
+    public void subscribe(Consumer<NotificationEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    void ensureCollection() {
+        if (!mongoTemplate.collectionExists(COLLECTION)) {
+            mongoTemplate.createCollection(COLLECTION, CollectionOptions.empty().capped().size(cappedSizeBytes));
+        }
+    }
+
+    void tail() {
+        while (running) {
+            try {
+                MongoCollection<Document> collection = mongoTemplate.getCollection(COLLECTION);
+                Bson filter = lastSeen == null ? new Document() : Filters.gt("_id", lastSeen);
+                try (MongoCursor<Document> cursor = collection.find(filter)
+                        .cursorType(CursorType.TailableAwait)
+                        .maxAwaitTime(awaitMs, TimeUnit.MILLISECONDS)
+                        .iterator()) {
+                    while (running) {
+                        Document document = cursor.tryNext();
+                        if (document != null) {
+                            lastSeen = document.getObjectId("_id");
+                            dispatch(mongoTemplate.getConverter().read(NotificationEvent.class, document));
+                        } else if (cursor.getServerCursor() == null) {
+                            // The server closed it (always the case on an empty collection); tryNext()
+                            // keeps returning null rather than throwing, so reopen explicitly
+                            break;
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                // A tailable cursor also dies when it falls behind the cap
+                logger.debug("Notification cursor failed, reopening: {}", e.getMessage());
+            }
+            if (running) {
+                sleepQuietly(retryBackoffMs);
+            }
+        }
+    }
+
+    void dispatch(NotificationEvent event) {
+        receivedCounter.increment();
+        for (Consumer<NotificationEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (Exception e) {
+                logger.warn("Notification subscriber failed for user {}: {}", event.getUserId(), e.getMessage());
+            }
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void start() {
+        publishedCounter = meterRegistry.counter("notifications.bus.published", "backend", "mongo");
+        receivedCounter = meterRegistry.counter("notifications.bus.received", "backend", "mongo");
+        ensureCollection();
+        Document newest = mongoTemplate.getCollection(COLLECTION).find()
+                .sort(new Document("$natural", -1)).limit(1).first();
+        lastSeen = newest == null ? null : newest.getObjectId("_id");
+        running = true;
+        tailer = new Thread(this::tail, "notification-bus-tail");
+        tailer.setDaemon(true);
+        tailer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            tailer.join(awaitMs + retryBackoffMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
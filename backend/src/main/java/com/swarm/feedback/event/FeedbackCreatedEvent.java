@@ -0,0 +1,23 @@
+package com.swarm.feedback.event;
+
+import com.swarm.feedback.model.Feedback;
+import lombok.Getter;
+
+@Getter
+public class FeedbackCreatedEvent {
+    private final Feedback feedback;
+
+    private final long enqueuedAtMillis = System.currentTimeMillis();
+
+    public FeedbackCreatedEvent(Feedback feedback) {
+        this.feedback = feedback;
+    }
+
+    public String getReviewerId() {
+        return feedback.getReviewerUserId();
+    }
+
+    public boolean isAnonymous() {
+        return feedback.getReviewerUserId() == null || "anonymous".equals(feedback.getReviewerUserId());
+    }
+}
@@ -0,0 +1,176 @@
+package com.swarm.feedback.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process pipeline for the side effects of feedback creation (activity log,
+ * reputation, submission and owner ratings, notification). The request thread only enqueues;
+ * a single worker drains the bounded queue in batches and hands each batch to
+ * every {@link FeedbackEventStage} in order. A full queue falls back to running
+ * the stages on the caller, and pending events are drained on shutdown.
+ */
+@Component
+public class FeedbackEventPipeline implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackEventPipeline.class);
+
+    @Autowired
+    private List<FeedbackEventStage> stages;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${feedback.events.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${feedback.events.batch-size:100}")
+    private int batchSize;
+
+    @Value("${feedback.events.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${feedback.events.retry-backoff-ms:200}")
+    private long retryBackoffMs;
+
+    @Value("${feedback.events.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<FeedbackCreatedEvent> queue;
+
+    private Thread worker;
+
+    private volatile boolean running;
+
+    private Counter publishedCounter;
+
+    private Counter inlineCounter;
+
+    public void publish(FeedbackCreatedEvent event) {
+        publishedCounter.increment();
+        if (!running || !queue.offer(event)) {
+            // Queue saturated (or pipeline stopped): apply backpressure on the caller
+            // rather than dropping side effects.
+            inlineCounter.increment();
+            process(List.of(event));
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getLagMillis() {
+        FeedbackCreatedEvent head = queue.peek();
+        return head == null ? 0 : System.currentTimeMillis() - head.getEnqueuedAtMillis();
+    }
+
+    @Override
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        publishedCounter = meterRegistry.counter("feedback.events.published");
+        inlineCounter = meterRegistry.counter("feedback.events.inline");
+        Gauge.builder("feedback.events.queue.depth", this, FeedbackEventPipeline::getQueueDepth)
+                .register(meterRegistry);
+        Gauge.builder("feedback.events.lag", this, FeedbackEventPipeline::getLagMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        running = true;
+        worker = new Thread(this::runWorker, "feedback-events");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            logger.warn("Feedback event pipeline stopped with {} undrained events", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runWorker() {
+        List<FeedbackCreatedEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                FeedbackCreatedEvent first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - batch.size());
+            if (!batch.isEmpty()) {
+                process(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    private void process(List<FeedbackCreatedEvent> batch) {
+        for (FeedbackEventStage stage : stages) {
+            runStage(stage, batch);
+        }
+    }
+
+    /**
+     * Runs a stage, retrying only the events it has not applied yet: everything
+     * after a plain exception, or {@link PartialBatchException#getFailed()}.
+     */
+    private void runStage(FeedbackEventStage stage, List<FeedbackCreatedEvent> batch) {
+        List<FeedbackCreatedEvent> pending = batch;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                stage.handle(pending);
+                meterRegistry.counter("feedback.events.processed", "stage", stage.name()).increment(pending.size());
+                return;
+            } catch (Exception e) {
+                if (e instanceof PartialBatchException partial) {
+                    meterRegistry.counter("feedback.events.processed", "stage", stage.name())
+                            .increment(pending.size() - partial.getFailed().size());
+                    pending = partial.getFailed();
+                }
+                if (attempt == maxAttempts) {
+                    meterRegistry.counter("feedback.events.failed", "stage", stage.name()).increment(pending.size());
+                    logger.error("Stage {} failed for {} events after {} attempts", stage.name(), pending.size(),
+                            attempt, e);
+                    return;
+                }
+                meterRegistry.counter("feedback.events.retried", "stage", stage.name()).increment();
+                logger.warn("Stage {} failed (attempt {}), retrying: {}", stage.name(), attempt, e.getMessage());
+                try {
+                    Thread.sleep(retryBackoffMs * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
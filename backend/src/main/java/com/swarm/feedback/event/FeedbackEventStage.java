@@ -0,0 +1,55 @@
+package com.swarm.feedback.event;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * One side effect of feedback creation. Stages receive events in batches, in
+ * {@link org.springframework.core.annotation.Order} order, and may be retried
+ * when they throw. None of the side effects are idempotent, so a stage that can
+ * fail after applying part of a batch must say which events are still pending
+ * by throwing {@link PartialBatchException}; any other exception means nothing
+ * was applied and the whole batch is retried.
+ */
+public interface FeedbackEventStage {
+    String name();
+
+    void handle(List<FeedbackCreatedEvent> batch);
+
+    /**
+     * Groups the batch by {@code unitOf} (events mapped to null are skipped) and
+     * applies each group on its own, so one failing unit does not stop the rest.
+     * The events of failed units are reported in a {@link PartialBatchException}.
+     * A failed unit is retried as a whole, so each unit should be a single write.
+     */
+    static <K> void applyPerUnit(List<FeedbackCreatedEvent> batch, Function<FeedbackCreatedEvent, K> unitOf,
+            BiConsumer<K, List<FeedbackCreatedEvent>> apply) {
+        Map<K, List<FeedbackCreatedEvent>> units = new LinkedHashMap<>();
+        for (FeedbackCreatedEvent event : batch) {
+            K unit = unitOf.apply(event);
+            if (unit != null) {
+                units.computeIfAbsent(unit, k -> new ArrayList<>()).add(event);
+            }
+        }
+
+        List<FeedbackCreatedEvent> failed = new ArrayList<>();
+        RuntimeException firstFailure = null;
+        for (Map.Entry<K, List<FeedbackCreatedEvent>> unit : units.entrySet()) {
+            try {
+                apply.accept(unit.getKey(), unit.getValue());
+            } catch (RuntimeException e) {
+                failed.addAll(unit.getValue());
+                if (firstFailure == null) {
+                    firstFailure = e;
+                }
+            }
+        }
+        if (firstFailure != null) {
+            throw new PartialBatchException(failed, firstFailure);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.swarm.feedback.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/** Single-node bus: events are handed to the subscribers on the publishing thread. */
+@Component
+@ConditionalOnProperty(name = "notifications.bus", havingValue = "memory", matchIfMissing = true)
+public class InMemoryNotificationBus implements NotificationBus {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryNotificationBus.class);
+
+    private final List<Consumer<NotificationEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(NotificationEvent event) {
+        for (Consumer<NotificationEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (Exception e) {
+                logger.warn("Notification subscriber failed for user {}: {}", event.getUserId(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<NotificationEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
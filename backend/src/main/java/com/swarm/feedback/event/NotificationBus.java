@@ -0,0 +1,16 @@
+package com.swarm.feedback.event;
+
+import java.util.function.Consumer;
+
+/**
+ * Cross-node fan-out for user notifications. Every published event is handed to
+ * the subscribers of every node (including the publisher's own), and each node
+ * then delivers only to its locally connected sessions. Selected with
+ * {@code notifications.bus}: {@code memory} (single node, the default) or
+ * {@code mongo} (tailable capped collection shared by all nodes).
+ */
+public interface NotificationBus {
+    void publish(NotificationEvent event);
+
+    void subscribe(Consumer<NotificationEvent> subscriber);
+}
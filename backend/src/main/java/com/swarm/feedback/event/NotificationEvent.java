@@ -0,0 +1,17 @@
+package com.swarm.feedback.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A per-user notification as carried between nodes by the {@link NotificationBus}. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationEvent {
+    private String type;
+
+    private String userId;
+
+    private String submissionId;
+}
@@ -0,0 +1,46 @@
+package com.swarm.feedback.event;
+
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.repository.SubmissionRepository;
+import com.swarm.feedback.service.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@Order(40)
+public class OwnerNotificationStage implements FeedbackEventStage {
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Override
+    public String name() {
+        return "owner-notification";
+    }
+
+    @Override
+    public void handle(List<FeedbackCreatedEvent> batch) {
+        Set<String> submissionIds = batch.stream()
+                .map(event -> event.getFeedback().getSubmissionId())
+                .collect(Collectors.toSet());
+        Map<String, Submission> submissions = submissionRepository.findAllById(submissionIds).stream()
+                .collect(Collectors.toMap(Submission::getId, Function.identity()));
+
+        FeedbackEventStage.applyPerUnit(batch, event -> event, (event, events) -> {
+            Submission submission = submissions.get(event.getFeedback().getSubmissionId());
+            if (submission != null) {
+                notificationService.notifyNewFeedback(submission.getOwnerUserId(), submission.getId());
+            }
+        });
+    }
+}
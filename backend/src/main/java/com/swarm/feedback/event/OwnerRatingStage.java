@@ -0,0 +1,63 @@
+package com.swarm.feedback.event;
+
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.repository.SubmissionRepository;
+import com.swarm.feedback.service.RatingAggregateService;
+import com.swarm.feedback.service.RatingDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Component
+@Order(31)
+public class OwnerRatingStage implements FeedbackEventStage {
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Override
+    public String name() {
+        return "owner-rating";
+    }
+
+    @Override
+    public void handle(List<FeedbackCreatedEvent> batch) {
+        Map<String, String> owners = ownersOf(submissionRepository, batch);
+
+        // One $inc on the owner's user document per batch
+        FeedbackEventStage.applyPerUnit(batch, event -> ownerOf(owners, event),
+                (ownerUserId, events) -> {
+                    RatingDelta delta = new RatingDelta();
+                    events.forEach(event -> delta.add(event.getFeedback(), 1));
+                    ratingAggregateService.applyOwnerDelta(ownerUserId, delta);
+                });
+    }
+
+    /** Owner id by submission id for the counted (APPROVED) feedback in the batch. */
+    static Map<String, String> ownersOf(SubmissionRepository submissionRepository, List<FeedbackCreatedEvent> batch) {
+        List<String> submissionIds = batch.stream()
+                .map(SubmitterRatingStage::countedSubmission)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (submissionIds.isEmpty()) {
+            return Map.of();
+        }
+        return submissionRepository.findAllById(submissionIds).stream()
+                .filter(submission -> submission.getOwnerUserId() != null)
+                .collect(Collectors.toMap(Submission::getId, Submission::getOwnerUserId));
+    }
+
+    static String ownerOf(Map<String, String> owners, FeedbackCreatedEvent event) {
+        String submissionId = SubmitterRatingStage.countedSubmission(event);
+        return submissionId == null ? null : owners.get(submissionId);
+    }
+}
@@ -0,0 +1,40 @@
+package com.swarm.feedback.event;
+
+import com.swarm.feedback.repository.SubmissionRepository;
+import com.swarm.feedback.service.RatingDelta;
+import com.swarm.feedback.service.UserStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Order(32)
+public class OwnerStatsStage implements FeedbackEventStage {
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Override
+    public String name() {
+        return "owner-stats";
+    }
+
+    @Override
+    public void handle(List<FeedbackCreatedEvent> batch) {
+        Map<String, String> owners = OwnerRatingStage.ownersOf(submissionRepository, batch);
+
+        // One user_stats upsert per owner per batch
+        FeedbackEventStage.applyPerUnit(batch, event -> OwnerRatingStage.ownerOf(owners, event),
+                (ownerUserId, events) -> {
+                    RatingDelta delta = new RatingDelta();
+                    events.forEach(event -> delta.add(event.getFeedback(), 1));
+                    userStatsService.recordReceived(ownerUserId, delta);
+                });
+    }
+}
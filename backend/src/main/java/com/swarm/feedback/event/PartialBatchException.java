@@ -0,0 +1,21 @@
+package com.swarm.feedback.event;
+
+import java.util.List;
+
+/**
+ * Thrown by a {@link FeedbackEventStage} whose side effects were applied for
+ * part of a batch only. The pipeline retries just {@link #getFailed()}, so the
+ * events already applied are not counted twice.
+ */
+public class PartialBatchException extends RuntimeException {
+    private final List<FeedbackCreatedEvent> failed;
+
+    public PartialBatchException(List<FeedbackCreatedEvent> failed, Throwable cause) {
+        super(failed.size() + " events failed: " + cause.getMessage(), cause);
+        this.failed = List.copyOf(failed);
+    }
+
+    public List<FeedbackCreatedEvent> getFailed() {
+        return failed;
+    }
+}
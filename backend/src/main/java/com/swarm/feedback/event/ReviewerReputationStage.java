@@ -0,0 +1,28 @@
+package com.swarm.feedback.event;
+
+import com.swarm.feedback.service.ReputationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(20)
+public class ReviewerReputationStage implements FeedbackEventStage {
+
+    @Autowired
+    private ReputationService reputationService;
+
+    @Override
+    public String name() {
+        return "reviewer-reputation";
+    }
+
+    @Override
+    public void handle(List<FeedbackCreatedEvent> batch) {
+        // One atomic increment per reviewer per batch
+        FeedbackEventStage.applyPerUnit(batch, event -> event.isAnonymous() ? null : event.getReviewerId(),
+                (reviewerId, reviews) -> reputationService.recordReviewsGiven(reviewerId, reviews.size()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.swarm.feedback.event;
+
+import com.swarm.feedback.service.RatingDelta;
+import com.swarm.feedback.service.UserStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(25)
+public class ReviewerStatsStage implements FeedbackEventStage {
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Override
+    public String name() {
+        return "reviewer-stats";
+    }
+
+    @Override
+    public void handle(List<FeedbackCreatedEvent> batch) {
+        // One upsert per reviewer per batch
+        FeedbackEventStage.applyPerUnit(batch, event -> event.isAnonymous() ? null : event.getReviewerId(),
+                (reviewerId, events) -> {
+                    RatingDelta delta = new RatingDelta();
+                    events.forEach(event -> delta.add(event.getFeedback(), 1));
+                    userStatsService.recordGiven(reviewerId, delta);
+                });
+    }
+}
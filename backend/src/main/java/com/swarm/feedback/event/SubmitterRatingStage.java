@@ -0,0 +1,39 @@
+package com.swarm.feedback.event;
+
+import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.service.RatingAggregateService;
+import com.swarm.feedback.service.RatingDelta;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Order(30)
+public class SubmitterRatingStage implements FeedbackEventStage {
+
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Override
+    public String name() {
+        return "submitter-rating";
+    }
+
+    @Override
+    public void handle(List<FeedbackCreatedEvent> batch) {
+        // Only APPROVED feedback counts; fold the batch into one delta (one write) per submission.
+        // The owner's totals are separate stages, so a retry here never repeats them and vice versa.
+        FeedbackEventStage.applyPerUnit(batch, SubmitterRatingStage::countedSubmission, (submissionId, events) -> {
+            RatingDelta delta = new RatingDelta();
+            events.forEach(event -> delta.add(event.getFeedback(), 1));
+            ratingAggregateService.applySubmissionDelta(submissionId, delta);
+        });
+    }
+
+    static String countedSubmission(FeedbackCreatedEvent event) {
+        Feedback feedback = event.getFeedback();
+        return "APPROVED".equals(feedback.getStatus()) ? feedback.getSubmissionId() : null;
+    }
+}
@@ -2,25 +2,24 @@ package com.swarm.feedback.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 import java.util.Map;
 
+// Indexes, retention and optional monthly partitions are managed by
+// ActivityLogPartitions rather than annotations
 @Data
 @Document(collection = "activity_logs")
 public class ActivityLog {
     @Id
     private String id;
 
-    @Indexed
     private String userId;
 
     private String actionType; // e.g., "CREATE_SUBMISSION", "LOGIN", "GIVE_FEEDBACK"
 
     private Map<String, Object> details;
 
-    @Indexed
     private LocalDateTime createdAt = LocalDateTime.now();
 }
@@ -2,12 +2,19 @@ package com.swarm.feedback.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Data
+@CompoundIndexes({
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "reviewer_createdAt_id", def = "{'reviewerUserId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "submission_createdAt_id", def = "{'submissionId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "status_createdAt_id", def = "{'status': 1, 'createdAt': -1, '_id': -1}")
+})
 @Document(collection = "feedback")
 public class Feedback {
     @Id
@@ -15,7 +22,6 @@ public class Feedback {
 
     private String submissionId;
 
-    @Indexed
     private String reviewerUserId;
 
     private String comments;
@@ -2,11 +2,17 @@ package com.swarm.feedback.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Data
+@CompoundIndexes({
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "sender_createdAt_id", def = "{'senderId': 1, 'createdAt': -1, '_id': -1}")
+})
 @Document(collection = "messages")
 public class Message {
     @Id
@@ -2,19 +2,24 @@ package com.swarm.feedback.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
+@CompoundIndexes({
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "status_createdAt_id", def = "{'status': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "owner_createdAt_id", def = "{'ownerUserId': 1, 'createdAt': -1, '_id': -1}")
+})
 @Document(collection = "submissions")
 public class Submission {
     @Id
     private String id;
 
-    @Indexed
     private String ownerUserId;
 
     private String title;
@@ -29,6 +34,13 @@ public class Submission {
 
     private String rejectionReason;
 
+    // Running aggregate of APPROVED feedback ratings
+    private Long ratingSum = 0L;
+
+    private Integer ratingCount = 0;
+
+    private Double averageRating;
+
     private LocalDateTime createdAt = LocalDateTime.now();
 
     private LocalDateTime updatedAt;
@@ -0,0 +1,31 @@
+package com.swarm.feedback.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reference count of one file under uploads/, as of the last GC pass. Counts
+ * come from {@code Submission.fileUrls}, {@code User.profilePic} and
+ * {@code Message.mediaUrl}.
+ */
+@Data
+@NoArgsConstructor
+@Document(collection = "upload_blobs")
+public class UploadBlob {
+    @Id
+    private String fileName;
+    private long size;
+    private int refCount;
+    private LocalDateTime countedAt;
+
+    public UploadBlob(String fileName, long size, int refCount, LocalDateTime countedAt) {
+        this.fileName = fileName;
+        this.size = size;
+        this.refCount = refCount;
+        this.countedAt = countedAt;
+    }
+}
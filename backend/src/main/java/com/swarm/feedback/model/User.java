@@ -2,7 +2,10 @@ package com.swarm.feedback.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.IndexDirection;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -10,8 +13,12 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Data
+@CompoundIndexes({
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}")
+})
 @Document(collection = "users")
 public class User {
+    @Indexed(direction = IndexDirection.DESCENDING)
     private Integer points = 0;
     private String level = "Bronze";
     private Set<String> badges = new HashSet<>();
@@ -46,9 +53,26 @@ public class User {
 
     private Double ratings;
 
+    // Running sum/count of APPROVED feedback ratings received; ratings = sum / count
+    private Long ratingSum = 0L;
+
+    private Integer ratingCount = 0;
+
     private LocalDateTime lastLoginAt;
 
+    @Indexed(sparse = true)
     private String resetPasswordToken;
 
     private LocalDateTime resetPasswordTokenExpiry;
+
+    // Thumbnail URLs derived from profilePic; serialized in responses, never stored
+    public String getProfilePicSmall() {
+        return com.swarm.feedback.service.ThumbnailService.url(profilePic,
+                com.swarm.feedback.service.ThumbnailService.SMALL);
+    }
+
+    public String getProfilePicMedium() {
+        return com.swarm.feedback.service.ThumbnailService.url(profilePic,
+                com.swarm.feedback.service.ThumbnailService.MEDIUM);
+    }
 }
@@ -0,0 +1,39 @@
+package com.swarm.feedback.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user rating statistics read model, keyed by user id and maintained
+ * incrementally by feedback writes. Given covers all feedback the user wrote;
+ * received covers APPROVED feedback on the user's submissions.
+ */
+@Data
+@Document(collection = "user_stats")
+public class UserStats {
+    @Id
+    private String id;
+
+    private int givenCount;
+
+    private long givenSum;
+
+    private Map<String, Long> givenDimensionSums = new HashMap<>();
+
+    private Map<String, Integer> givenDimensionCounts = new HashMap<>();
+
+    private int receivedCount;
+
+    private long receivedSum;
+
+    private Map<String, Long> receivedDimensionSums = new HashMap<>();
+
+    private Map<String, Integer> receivedDimensionCounts = new HashMap<>();
+
+    private LocalDateTime updatedAt;
+}
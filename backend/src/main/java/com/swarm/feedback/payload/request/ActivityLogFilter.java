@@ -0,0 +1,17 @@
+package com.swarm.feedback.payload.request;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ActivityLogFilter {
+    private String userId;
+
+    private String actionType;
+
+    // Inclusive lower and exclusive upper bound on createdAt
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+}
@@ -0,0 +1,13 @@
+package com.swarm.feedback.payload.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+@Data
+public class CompleteUploadRequest {
+    // Hex SHA-256 of the whole file, as computed by the client
+    @NotBlank
+    @Pattern(regexp = "[0-9a-fA-F]{64}")
+    private String sha256;
+}
@@ -0,0 +1,18 @@
+package com.swarm.feedback.payload.request;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ExportFilter {
+    private String status;
+
+    // Inclusive lower and exclusive upper bound on createdAt
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    // Feedback exports only
+    private String submissionId;
+}
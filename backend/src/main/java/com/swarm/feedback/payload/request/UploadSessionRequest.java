@@ -0,0 +1,20 @@
+package com.swarm.feedback.payload.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class UploadSessionRequest {
+    @NotBlank
+    private String fileName;
+
+    // Selects the size limit, as Content-Type does for single-request uploads
+    private String contentType;
+
+    @Positive
+    private long size;
+
+    // Optional; the server default is used when absent
+    private Long chunkSize;
+}
@@ -0,0 +1,16 @@
+package com.swarm.feedback.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.swarm.feedback.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CurrentUserResponse {
+    // Profile fields stay at the top level, as /api/users/me always returned them
+    @JsonUnwrapped
+    private User user;
+
+    private UserStatsResponse stats;
+}
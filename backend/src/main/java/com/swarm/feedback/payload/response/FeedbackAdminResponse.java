@@ -0,0 +1,39 @@
+package com.swarm.feedback.payload.response;
+
+import com.swarm.feedback.model.Feedback;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class FeedbackAdminResponse {
+    private String id;
+    private String submissionId;
+    private String submissionTitle;
+    private String reviewerUserId;
+    private String reviewerUsername;
+    private String comments;
+    private Integer rating;
+    private String status;
+    private String rejectionReason;
+    private LocalDateTime createdAt;
+    private String submitterReply;
+    private LocalDateTime submitterRepliedAt;
+
+    public static FeedbackAdminResponse from(Feedback feedback, String reviewerUsername, String submissionTitle) {
+        FeedbackAdminResponse response = new FeedbackAdminResponse();
+        response.setId(feedback.getId());
+        response.setSubmissionId(feedback.getSubmissionId());
+        response.setSubmissionTitle(submissionTitle);
+        response.setReviewerUserId(feedback.getReviewerUserId());
+        response.setReviewerUsername(reviewerUsername);
+        response.setComments(feedback.getComments());
+        response.setRating(feedback.getRating());
+        response.setStatus(feedback.getStatus());
+        response.setRejectionReason(feedback.getRejectionReason());
+        response.setCreatedAt(feedback.getCreatedAt());
+        response.setSubmitterReply(feedback.getSubmitterReply());
+        response.setSubmitterRepliedAt(feedback.getSubmitterRepliedAt());
+        return response;
+    }
+}
@@ -0,0 +1,18 @@
+package com.swarm.feedback.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LeaderboardEntry {
+    // 1-based position; ties on points are ordered by user id
+    private int rank;
+    private String userId;
+    private String username;
+    private int points;
+    private String level;
+    private String profilePic;
+    // ThumbnailService.SMALL rendition of profilePic
+    private String profilePicSmall;
+}
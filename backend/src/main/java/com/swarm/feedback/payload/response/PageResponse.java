@@ -0,0 +1,19 @@
+package com.swarm.feedback.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class PageResponse<T> {
+    private List<T> items;
+
+    // Opaque cursor for the next page; null on the last page
+    private String nextCursor;
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.swarm.feedback.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class UploadSessionResponse {
+    private String id;
+    private String fileName;
+    private long size;
+    private long chunkSize;
+    private int chunkCount;
+    // Indexes of the chunks stored so far, ascending
+    private List<Integer> received;
+    // When the session expires if no further chunk arrives
+    private Instant expiresAt;
+}
@@ -0,0 +1,48 @@
+package com.swarm.feedback.payload.response;
+
+import com.swarm.feedback.model.UserStats;
+import lombok.Data;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+@Data
+public class UserStatsResponse {
+    private int givenCount;
+    private Double givenAverage;
+    private Map<String, Double> givenDimensionAverages;
+    private int receivedCount;
+    private Double receivedAverage;
+    private Map<String, Double> receivedDimensionAverages;
+
+    public static UserStatsResponse from(UserStats stats) {
+        UserStatsResponse response = new UserStatsResponse();
+        response.setGivenCount(stats.getGivenCount());
+        response.setGivenAverage(average(stats.getGivenSum(), stats.getGivenCount()));
+        response.setGivenDimensionAverages(
+                averages(stats.getGivenDimensionSums(), stats.getGivenDimensionCounts()));
+        response.setReceivedCount(stats.getReceivedCount());
+        response.setReceivedAverage(average(stats.getReceivedSum(), stats.getReceivedCount()));
+        response.setReceivedDimensionAverages(
+                averages(stats.getReceivedDimensionSums(), stats.getReceivedDimensionCounts()));
+        return response;
+    }
+
+    private static Double average(long sum, int count) {
+        return count > 0 ? (double) sum / count : null;
+    }
+
+    private static Map<String, Double> averages(Map<String, Long> sums, Map<String, Integer> counts) {
+        Map<String, Double> averages = new TreeMap<>();
+        if (sums == null || counts == null) {
+            return averages;
+        }
+        sums.forEach((dimension, sum) -> {
+            Integer count = counts.get(dimension);
+            if (count != null && count > 0) {
+                averages.put(dimension, (double) sum / count);
+            }
+        });
+        return averages;
+    }
+}
@@ -0,0 +1,177 @@
+package com.swarm.feedback.repository;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which collection an activity log entry lives in and keeps that
+ * collection's indexes in place. With {@code activity-log.partitioning=NONE}
+ * everything goes to {@code activity_logs} and a TTL index on createdAt
+ * enforces retention. With {@code MONTHLY} each calendar month gets its own
+ * {@code activity_logs_yyyy_MM} collection and retention drops whole
+ * partitions, which is far cheaper than TTL deletes on a hot collection.
+ */
+@Component
+public class ActivityLogPartitions {
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogPartitions.class);
+
+    public static final String BASE_COLLECTION = "activity_logs";
+
+    private static final String TTL_INDEX = "createdAt_ttl";
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    public enum Partitioning {
+        NONE,
+        MONTHLY
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${activity-log.partitioning:NONE}")
+    private Partitioning partitioning;
+
+    // 0 keeps logs forever
+    @Value("${activity-log.retention-days:90}")
+    private int retentionDays;
+
+    private final Set<String> prepared = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepare() {
+        collectionFor(LocalDateTime.now());
+        dropExpiredPartitions();
+    }
+
+    /** Returns the collection for an entry created at the given time, creating its indexes on first use. */
+    public String collectionFor(LocalDateTime createdAt) {
+        String name = partitioning == Partitioning.MONTHLY
+                ? BASE_COLLECTION + "_" + YearMonth.from(createdAt).format(MONTH)
+                : BASE_COLLECTION;
+        if (prepared.add(name)) {
+            try {
+                ensureIndexes(name);
+            } catch (RuntimeException e) {
+                prepared.remove(name);
+                throw e;
+            }
+            if (partitioning == Partitioning.MONTHLY) {
+                dropExpiredPartitions();
+            }
+        }
+        return name;
+    }
+
+    /** Collections that may hold entries in [from, to), newest first. Null bounds are open. */
+    public List<String> collectionsBetween(LocalDateTime from, LocalDateTime to) {
+        if (partitioning != Partitioning.MONTHLY) {
+            return List.of(BASE_COLLECTION);
+        }
+        YearMonth newest = YearMonth.now();
+        if (to != null && YearMonth.from(to).isBefore(newest)) {
+            newest = YearMonth.from(to);
+        }
+        YearMonth oldest = from == null ? null : YearMonth.from(from);
+        if (retentionDays > 0) {
+            YearMonth retained = YearMonth.from(LocalDateTime.now().minusDays(retentionDays));
+            if (oldest == null || oldest.isBefore(retained)) {
+                oldest = retained;
+            }
+        }
+        if (oldest == null) {
+            oldest = oldestPartition().orElse(newest);
+        }
+        List<String> names = new ArrayList<>();
+        for (YearMonth month = newest; !month.isBefore(oldest); month = month.minusMonths(1)) {
+            names.add(BASE_COLLECTION + "_" + month.format(MONTH));
+        }
+        return names;
+    }
+
+    void ensureIndexes(String collection) {
+        IndexOperations indexOps = mongoTemplate.indexOps(collection);
+        List<IndexInfo> existing = indexOps.getIndexInfo();
+        // Superseded by the compound indexes below; the old createdAt index would
+        // also clash with the TTL index on the same key
+        for (String legacy : List.of("userId", "createdAt")) {
+            if (existing.stream().anyMatch(index -> index.getName().equals(legacy))) {
+                indexOps.dropIndex(legacy);
+            }
+        }
+        IndexPlan.forCollection(BASE_COLLECTION).forEach(planned -> indexOps.ensureIndex(planned.toIndex()));
+
+        if (partitioning == Partitioning.MONTHLY) {
+            return;
+        }
+        Optional<IndexInfo> ttl = existing.stream().filter(index -> index.getName().equals(TTL_INDEX)).findFirst();
+        if (retentionDays <= 0) {
+            ttl.ifPresent(index -> indexOps.dropIndex(TTL_INDEX));
+            return;
+        }
+        Duration retention = Duration.ofDays(retentionDays);
+        if (ttl.isEmpty()) {
+            indexOps.ensureIndex(new Index().on("createdAt", Sort.Direction.ASC).expire(retention).named(TTL_INDEX));
+        } else if (!ttl.get().getExpireAfter().map(retention::equals).orElse(false)) {
+            // Changing expireAfterSeconds in place avoids rebuilding the index
+            mongoTemplate.executeCommand(new Document("collMod", collection)
+                    .append("index", new Document("name", TTL_INDEX)
+                            .append("expireAfterSeconds", retention.getSeconds())));
+        }
+    }
+
+    void dropExpiredPartitions() {
+        if (partitioning != Partitioning.MONTHLY || retentionDays <= 0) {
+            return;
+        }
+        YearMonth oldestKept = YearMonth.from(LocalDateTime.now().minusDays(retentionDays));
+        for (String name : mongoTemplate.getCollectionNames()) {
+            Optional<YearMonth> month = partitionMonth(name);
+            if (month.isPresent() && month.get().isBefore(oldestKept)) {
+                mongoTemplate.dropCollection(name);
+                prepared.remove(name);
+                logger.info("Dropped expired activity log partition {}", name);
+            }
+        }
+    }
+
+    private Optional<YearMonth> oldestPartition() {
+        return mongoTemplate.getCollectionNames().stream()
+                .map(ActivityLogPartitions::partitionMonth)
+                .flatMap(Optional::stream)
+                .min(YearMonth::compareTo);
+    }
+
+    static Optional<YearMonth> partitionMonth(String collection) {
+        if (!collection.startsWith(BASE_COLLECTION + "_")) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(collection.substring(BASE_COLLECTION.length() + 1), MONTH));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -1,10 +0,0 @@
-package com.swarm.feedback.repository;
-
-import com.swarm.feedback.model.ActivityLog;
-import org.springframework.data.mongodb.repository.MongoRepository;
-
-import java.util.List;
-
-public interface ActivityLogRepository extends MongoRepository<ActivityLog, String> {
-    List<ActivityLog> findByUserId(String userId);
-}
@@ -0,0 +1,224 @@
+package com.swarm.feedback.repository;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The declared index plan for every collection the app queries, and the
+ * query shapes each index exists to serve. Entity annotations and
+ * {@link ActivityLogPartitions} create these indexes; {@link IndexVerifier}
+ * compares them with what the server has, and IndexPlanTest fails the build
+ * when a repository query is not covered by an index in this plan.
+ */
+public final class IndexPlan {
+
+    public static final String USERS = "users";
+
+    public static final String SUBMISSIONS = "submissions";
+
+    public static final String FEEDBACK = "feedback";
+
+    public static final String MESSAGES = "messages";
+
+    public static final String ACTIVITY_LOGS = ActivityLogPartitions.BASE_COLLECTION;
+
+    private static final Document CREATED_AT_DESC = new Document("createdAt", -1).append("_id", -1);
+
+    public static final List<PlannedIndex> INDEXES = List.of(
+            new PlannedIndex(USERS, "username", new Document("username", 1), true, false),
+            new PlannedIndex(USERS, "email", new Document("email", 1), true, false),
+            new PlannedIndex(USERS, "points", new Document("points", -1), false, false),
+            new PlannedIndex(USERS, "resetPasswordToken", new Document("resetPasswordToken", 1), false, true),
+            new PlannedIndex(USERS, "createdAt_id", CREATED_AT_DESC, false, false),
+
+            new PlannedIndex(SUBMISSIONS, "createdAt_id", CREATED_AT_DESC, false, false),
+            new PlannedIndex(SUBMISSIONS, "status_createdAt_id", prefixed("status"), false, false),
+            new PlannedIndex(SUBMISSIONS, "owner_createdAt_id", prefixed("ownerUserId"), false, false),
+
+            new PlannedIndex(FEEDBACK, "createdAt_id", CREATED_AT_DESC, false, false),
+            new PlannedIndex(FEEDBACK, "reviewer_createdAt_id", prefixed("reviewerUserId"), false, false),
+            new PlannedIndex(FEEDBACK, "submission_createdAt_id", prefixed("submissionId"), false, false),
+            new PlannedIndex(FEEDBACK, "status_createdAt_id", prefixed("status"), false, false),
+
+            new PlannedIndex(MESSAGES, "createdAt_id", CREATED_AT_DESC, false, false),
+            new PlannedIndex(MESSAGES, "sender_createdAt_id", prefixed("senderId"), false, false),
+
+            new PlannedIndex(ACTIVITY_LOGS, "userId_createdAt", prefixed("userId"), false, false),
+            new PlannedIndex(ACTIVITY_LOGS, "userId_actionType_createdAt", prefixed("userId", "actionType"), false,
+                    false),
+            new PlannedIndex(ACTIVITY_LOGS, "createdAt_id", CREATED_AT_DESC, false, false));
+
+    /**
+     * Queries built with MongoTemplate rather than derived from repository
+     * method names (those are checked straight from the repositories). The
+     * upload GC's reference re-check (UploadGarbageCollector#isReferenced) is
+     * a deliberate unanchored-regex collection scan and is left out.
+     */
+    public static final List<QueryShape> TEMPLATE_QUERIES = List.of(
+            new QueryShape(USERS, "users keyset page", Set.of(), CREATED_AT_DESC),
+            new QueryShape(USERS, "leaderboard seed", Set.of(), new Document("points", -1)),
+            new QueryShape(USERS, "password rehash", Set.of("username"), new Document()),
+            new QueryShape(SUBMISSIONS, "submissions keyset page", Set.of(), CREATED_AT_DESC),
+            new QueryShape(SUBMISSIONS, "submissions by status page / export", Set.of("status"), CREATED_AT_DESC),
+            new QueryShape(SUBMISSIONS, "submissions by owner page", Set.of("ownerUserId"), CREATED_AT_DESC),
+            new QueryShape(FEEDBACK, "feedback keyset page", Set.of(), CREATED_AT_DESC),
+            new QueryShape(FEEDBACK, "feedback given page", Set.of("reviewerUserId"), CREATED_AT_DESC),
+            new QueryShape(FEEDBACK, "feedback received page / export", Set.of("submissionId"), CREATED_AT_DESC),
+            new QueryShape(FEEDBACK, "feedback export / rating rebuild by status", Set.of("status"),
+                    CREATED_AT_DESC),
+            new QueryShape(MESSAGES, "messages keyset page", Set.of(), CREATED_AT_DESC),
+            new QueryShape(ACTIVITY_LOGS, "activity by user", Set.of("userId"), CREATED_AT_DESC),
+            new QueryShape(ACTIVITY_LOGS, "activity by user and action", Set.of("userId", "actionType"),
+                    CREATED_AT_DESC),
+            new QueryShape(ACTIVITY_LOGS, "activity range", Set.of(), CREATED_AT_DESC));
+
+    private IndexPlan() {
+    }
+
+    public static List<PlannedIndex> forCollection(String collection) {
+        return INDEXES.stream().filter(index -> index.getCollection().equals(collection)).toList();
+    }
+
+    /**
+     * Whether the index can serve the query without a collection scan or an
+     * in-memory sort: its leading keys are exactly the equality fields, and
+     * the keys after them match the sort (all in the same or all in the
+     * reversed direction).
+     */
+    public static boolean covers(PlannedIndex index, QueryShape query) {
+        List<Map.Entry<String, Object>> keys = new ArrayList<>(index.getKeys().entrySet());
+        Set<String> equality = query.getEquality();
+        if (keys.size() < equality.size()) {
+            return false;
+        }
+        for (int i = 0; i < equality.size(); i++) {
+            if (!equality.contains(keys.get(i).getKey())) {
+                return false;
+            }
+        }
+        List<Map.Entry<String, Object>> sort = new ArrayList<>(query.getSort().entrySet());
+        if (keys.size() - equality.size() < sort.size()) {
+            return false;
+        }
+        Boolean reversed = null;
+        for (int i = 0; i < sort.size(); i++) {
+            Map.Entry<String, Object> key = keys.get(equality.size() + i);
+            if (!key.getKey().equals(sort.get(i).getKey())) {
+                return false;
+            }
+            boolean same = ((Number) key.getValue()).intValue() == ((Number) sort.get(i).getValue()).intValue();
+            if (reversed == null) {
+                reversed = !same;
+            } else if (reversed == same) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Document prefixed(String... fields) {
+        Document keys = new Document();
+        for (String field : fields) {
+            keys.append(field, 1);
+        }
+        keys.putAll(CREATED_AT_DESC);
+        return keys;
+    }
+
+    public static final class PlannedIndex {
+        private final String collection;
+
+        private final String name;
+
+        private final Document keys;
+
+        private final boolean unique;
+
+        private final boolean sparse;
+
+        PlannedIndex(String collection, String name, Document keys, boolean unique, boolean sparse) {
+            this.collection = collection;
+            this.name = name;
+            this.keys = keys;
+            this.unique = unique;
+            this.sparse = sparse;
+        }
+
+        public String getCollection() {
+            return collection;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Document getKeys() {
+            return keys;
+        }
+
+        public boolean isUnique() {
+            return unique;
+        }
+
+        public boolean isSparse() {
+            return sparse;
+        }
+
+        public Index toIndex() {
+            Index index = new Index().named(name);
+            keys.forEach((field, direction) -> index.on(field,
+                    ((Number) direction).intValue() < 0 ? Sort.Direction.DESC : Sort.Direction.ASC));
+            if (unique) {
+                index.unique();
+            }
+            if (sparse) {
+                index.sparse();
+            }
+            return index;
+        }
+    }
+
+    public static final class QueryShape {
+        private final String collection;
+
+        private final String description;
+
+        private final Set<String> equality;
+
+        private final Document sort;
+
+        public QueryShape(String collection, String description, Set<String> equality, Document sort) {
+            this.collection = collection;
+            this.description = description;
+            this.equality = equality;
+            this.sort = sort;
+        }
+
+        public String getCollection() {
+            return collection;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public Set<String> getEquality() {
+            return equality;
+        }
+
+        public Document getSort() {
+            return sort;
+        }
+
+        @Override
+        public String toString() {
+            return collection + " " + description + " eq=" + equality + " sort=" + sort.keySet();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.swarm.feedback.repository;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the server's indexes with {@link IndexPlan} at startup. Planned
+ * indexes that are missing and indexes the plan does not declare are logged
+ * as warnings; indexes with no recorded use since the server started (per
+ * {@code $indexStats}) are listed as candidates to drop.
+ */
+@Component
+public class IndexVerifier {
+    private static final Logger logger = LoggerFactory.getLogger(IndexVerifier.class);
+
+    // Managed outside the plan: the implicit primary key and the retention TTL
+    private static final Set<String> IGNORED = Set.of("_id_", "createdAt_ttl");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ActivityLogPartitions activityLogPartitions;
+
+    @Value("${index-verifier.enabled:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            for (Report report : verify()) {
+                if (!report.getMissing().isEmpty()) {
+                    logger.warn("{}: planned indexes missing: {}", report.getCollection(), report.getMissing());
+                }
+                if (!report.getUndeclared().isEmpty()) {
+                    logger.warn("{}: indexes not in the plan: {}", report.getCollection(), report.getUndeclared());
+                }
+                if (!report.getUnused().isEmpty()) {
+                    logger.info("{}: indexes unused since server start: {}", report.getCollection(),
+                            report.getUnused());
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Index verification skipped: {}", e.getMessage());
+        }
+    }
+
+    public List<Report> verify() {
+        Map<String, String> collections = new LinkedHashMap<>();
+        for (IndexPlan.PlannedIndex planned : IndexPlan.INDEXES) {
+            collections.putIfAbsent(planned.getCollection(), planned.getCollection());
+        }
+        // Monthly partitioning: check the partition currently written to
+        collections.put(IndexPlan.ACTIVITY_LOGS, activityLogPartitions.collectionFor(LocalDateTime.now()));
+
+        List<Report> reports = new ArrayList<>();
+        collections.forEach((planned, actual) -> reports.add(verify(planned, actual)));
+        return reports;
+    }
+
+    private Report verify(String plannedCollection, String collection) {
+        List<IndexPlan.PlannedIndex> plan = IndexPlan.forCollection(plannedCollection);
+        // Keyed by JSON so that key order matters, as it does for the server
+        Map<String, String> existing = new LinkedHashMap<>();
+        for (IndexInfo info : mongoTemplate.indexOps(collection).getIndexInfo()) {
+            if (!IGNORED.contains(info.getName())) {
+                existing.put(keys(info).toJson(), info.getName());
+            }
+        }
+        Set<String> plannedKeys = plan.stream().map(index -> index.getKeys().toJson()).collect(Collectors.toSet());
+
+        Report report = new Report(collection);
+        plan.stream().filter(index -> !existing.containsKey(index.getKeys().toJson()))
+                .forEach(index -> report.getMissing().add(index.getName()));
+        existing.forEach((keys, name) -> {
+            if (!plannedKeys.contains(keys)) {
+                report.getUndeclared().add(name);
+            }
+        });
+        for (Document stats : mongoTemplate.getCollection(collection)
+                .aggregate(List.of(new Document("$indexStats", new Document())))) {
+            String name = stats.getString("name");
+            Document accesses = stats.get("accesses", Document.class);
+            if (!IGNORED.contains(name) && accesses != null
+                    && ((Number) accesses.get("ops")).longValue() == 0) {
+                report.getUnused().add(name);
+            }
+        }
+        return report;
+    }
+
+    private static Document keys(IndexInfo info) {
+        Document keys = new Document();
+        for (IndexField field : info.getIndexFields()) {
+            keys.append(field.getKey(), field.getDirection() == Sort.Direction.DESC ? -1 : 1);
+        }
+        return keys;
+    }
+
+    public static class Report {
+        private final String collection;
+
+        private final List<String> missing = new ArrayList<>();
+
+        private final List<String> undeclared = new ArrayList<>();
+
+        private final List<String> unused = new ArrayList<>();
+
+        Report(String collection) {
+            this.collection = collection;
+        }
+
+        public String getCollection() {
+            return collection;
+        }
+
+        public List<String> getMissing() {
+            return missing;
+        }
+
+        public List<String> getUndeclared() {
+            return undeclared;
+        }
+
+        public List<String> getUnused() {
+            return unused;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.swarm.feedback.repository;
+
+import com.swarm.feedback.payload.response.PageResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination over {@code (createdAt desc, _id desc)}. Each page is a
+ * range scan on a {@code createdAt/_id} compound index that starts right after
+ * the previous page's last row, so page N costs the same as page 1 and rows
+ * inserted meanwhile never shift later pages.
+ */
+@Component
+public class KeysetPager {
+    private static final Sort ORDER = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id"));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${pagination.default-size:20}")
+    private int defaultSize;
+
+    @Value("${pagination.max-size:100}")
+    private int maxSize;
+
+    @Value("${pagination.allow-unpaged:true}")
+    private boolean allowUnpaged;
+
+    public int resolveSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultSize;
+        }
+        return Math.min(size, maxSize);
+    }
+
+    /** Whether the legacy unbounded list was requested and is still enabled. */
+    public boolean isUnpaged(boolean requested) {
+        if (requested && !allowUnpaged) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unpaged listing is disabled");
+        }
+        return requested;
+    }
+
+    public <T> PageResponse<T> page(Criteria filter, String cursor, int size, Class<T> type,
+            Function<T, LocalDateTime> createdAt, Function<T, String> id) {
+        Query query = query(filter, cursor).limit(size + 1);
+        return toPage(mongoTemplate.find(query, type), size, createdAt, id);
+    }
+
+    /**
+     * Pages across collections that partition the same data by time; they must
+     * be listed newest first so the combined order stays createdAt desc.
+     */
+    public <T> PageResponse<T> page(Criteria filter, String cursor, int size, Class<T> type,
+            List<String> collections, Function<T, LocalDateTime> createdAt, Function<T, String> id) {
+        Query query = query(filter, cursor);
+        List<T> rows = new ArrayList<>();
+        for (String collection : collections) {
+            query.limit(size + 1 - rows.size());
+            rows.addAll(mongoTemplate.find(query, type, collection));
+            if (rows.size() > size) {
+                break;
+            }
+        }
+        return toPage(rows, size, createdAt, id);
+    }
+
+    private static Query query(Criteria filter, String cursor) {
+        Query query = new Query();
+        Criteria after = cursor == null || cursor.isEmpty() ? null : afterCursor(cursor);
+        if (filter != null && after != null) {
+            query.addCriteria(new Criteria().andOperator(filter, after));
+        } else if (filter != null) {
+            query.addCriteria(filter);
+        } else if (after != null) {
+            query.addCriteria(after);
+        }
+        return query.with(ORDER);
+    }
+
+    private static <T> PageResponse<T> toPage(List<T> rows, int size, Function<T, LocalDateTime> createdAt,
+            Function<T, String> id) {
+        if (rows.size() <= size) {
+            return new PageResponse<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        T last = items.get(size - 1);
+        return new PageResponse<>(items, encode(createdAt.apply(last), id.apply(last)));
+    }
+
+    static String encode(LocalDateTime createdAt, String id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // createdAt < c OR (createdAt == c AND _id < id)
+    static Criteria afterCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            LocalDateTime createdAt = LocalDateTime.parse(raw.substring(0, separator));
+            String id = raw.substring(separator + 1);
+            return new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(createdAt),
+                    Criteria.where("createdAt").is(createdAt).and("_id").lt(id));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -2,10 +2,20 @@ package com.swarm.feedback.repository;
 
 import com.swarm.feedback.model.Submission;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import java.util.Collection;
 import java.util.List;
 
 public interface SubmissionRepository extends MongoRepository<Submission, String> {
     List<Submission> findByOwnerUserId(String ownerUserId);
 
     List<Submission> findByStatus(String status);
+
+    // Projection: only _id and title are read from the server
+    List<TitleView> findByIdIn(Collection<String> ids);
+
+    interface TitleView {
+        String getId();
+
+        String getTitle();
+    }
 }
@@ -2,6 +2,8 @@ package com.swarm.feedback.repository;
 
 import com.swarm.feedback.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends MongoRepository<User, String> {
@@ -14,4 +16,13 @@ public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByResetPasswordToken(String token);
 
     Optional<User> findByEmail(String email);
+
+    // Projection: only _id and username are read from the server
+    List<UsernameView> findByIdIn(Collection<String> ids);
+
+    interface UsernameView {
+        String getId();
+
+        String getUsername();
+    }
 }
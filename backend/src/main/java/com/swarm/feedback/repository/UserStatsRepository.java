@@ -0,0 +1,7 @@
+package com.swarm.feedback.repository;
+
+import com.swarm.feedback.model.UserStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface UserStatsRepository extends MongoRepository<UserStats, String> {
+}
@@ -29,6 +29,18 @@ public class WebSecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Autowired
+    private io.micrometer.core.instrument.MeterRegistry meterRegistry;
+
+    @org.springframework.beans.factory.annotation.Value("${auth.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @org.springframework.beans.factory.annotation.Value("${auth.password-hashing.threads:0}")
+    private int hashingThreads;
+
+    @org.springframework.beans.factory.annotation.Value("${auth.password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -39,6 +51,8 @@ public class WebSecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehash stored passwords on successful login when auth.bcrypt.strength changes
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -49,7 +63,9 @@ public class WebSecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), threads,
+                hashingQueueCapacity, meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,65 @@
+package com.swarm.feedback.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded, TTL-based cache of the principals built for JWT-authenticated
+ * requests, keyed by username. Writes that change what a principal carries
+ * (roles, password, existence) must call {@link #invalidate(String)}; the TTL
+ * bounds staleness for anything else. Hit/miss/eviction counts are published
+ * as {@code cache.*} metrics tagged {@code cache=auth.principals}.
+ */
+@Component
+public class PrincipalCache {
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${auth.principal-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Cache<String, UserDetailsImpl> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.principals");
+    }
+
+    /**
+     * Returns the cached principal, loading it through
+     * {@link UserDetailsServiceImpl} on a miss. Unknown users are not cached.
+     */
+    public UserDetailsImpl get(String username) throws UsernameNotFoundException {
+        return cache.get(username, key -> (UserDetailsImpl) userDetailsService.loadUserByUsername(key));
+    }
+
+    public void invalidate(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
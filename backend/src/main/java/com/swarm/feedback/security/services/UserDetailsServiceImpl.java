@@ -3,26 +3,44 @@ package com.swarm.feedback.security.services;
 import com.swarm.feedback.model.User;
 import com.swarm.feedback.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    MongoTemplate mongoTemplate;
+
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
 
-        System.out.println("DEBUG: Loaded user: " + user.getUsername());
-        System.out.println("DEBUG: Password hash: " + user.getPasswordHash());
-
         return UserDetailsImpl.build(user);
     }
+
+    /**
+     * Called by the authentication provider after a successful login whose
+     * stored hash was produced with a different BCrypt cost.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("username").is(user.getUsername())),
+                Update.update("passwordHash", newPassword), User.class);
+        UserDetailsImpl principal = (UserDetailsImpl) user;
+        return new UserDetailsImpl(principal.getId(), principal.getUsername(), principal.getEmail(),
+                newPassword, principal.getAuthorities());
+    }
 }
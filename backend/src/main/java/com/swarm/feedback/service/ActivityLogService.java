@@ -1,11 +1,14 @@
 package com.swarm.feedback.service;
 
 import com.swarm.feedback.model.ActivityLog;
-import java.util.List;
+import com.swarm.feedback.payload.request.ActivityLogFilter;
+import com.swarm.feedback.payload.response.PageResponse;
+
 import java.util.Map;
 
 public interface ActivityLogService {
     void logActivity(String userId, String actionType, Map<String, Object> details);
 
-    List<ActivityLog> getLogsByUserId(String userId);
+    /** Keyset page of logs matching the filter, newest first. */
+    PageResponse<ActivityLog> getLogs(ActivityLogFilter filter, String cursor, Integer size);
 }
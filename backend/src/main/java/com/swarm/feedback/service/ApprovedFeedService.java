@@ -0,0 +1,9 @@
+package com.swarm.feedback.service;
+
+public interface ApprovedFeedService {
+    /** Current snapshot, rebuilt first if an approved submission changed since the last build. */
+    ApprovedFeedSnapshot getSnapshot();
+
+    /** Marks the snapshot stale; the next read rebuilds it. */
+    void invalidate();
+}
@@ -0,0 +1,25 @@
+package com.swarm.feedback.service;
+
+import lombok.Getter;
+
+/**
+ * Immutable, pre-serialized copy of the approved-submissions feed. The ETag is
+ * derived from the JSON bytes, so it is strong and stable across restarts.
+ */
+@Getter
+public class ApprovedFeedSnapshot {
+    private final long version;
+
+    private final String etag;
+
+    private final byte[] json;
+
+    private final byte[] gzip;
+
+    public ApprovedFeedSnapshot(long version, String etag, byte[] json, byte[] gzip) {
+        this.version = version;
+        this.etag = etag;
+        this.json = json;
+        this.gzip = gzip;
+    }
+}
@@ -0,0 +1,33 @@
+package com.swarm.feedback.service;
+
+import com.swarm.feedback.payload.request.UploadSessionRequest;
+import com.swarm.feedback.payload.response.UploadSessionResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Resumable uploads: a client opens a session for a file of known size, PUTs
+ * its fixed-size chunks in any order (and in parallel), asks which chunks have
+ * arrived after an interruption, and finally completes the session with the
+ * file's SHA-256. Sessions belong to the user that opened them; any other user
+ * sees them as not found. Idle sessions expire and their partial data is deleted.
+ */
+public interface ChunkedUploadService {
+
+    UploadSessionResponse create(String owner, UploadSessionRequest request) throws IOException;
+
+    UploadSessionResponse status(String owner, String sessionId);
+
+    /**
+     * Writes chunk {@code index}; its length must be exactly the chunk size
+     * (or the remainder, for the last chunk). Re-sending a stored chunk is a no-op.
+     */
+    UploadSessionResponse writeChunk(String owner, String sessionId, int index, InputStream body,
+            long declaredLength) throws IOException;
+
+    /** Verifies the checksum over the assembled file and moves it into the store. */
+    StoredFile complete(String owner, String sessionId, String sha256) throws IOException;
+
+    void abort(String owner, String sessionId);
+}
@@ -0,0 +1,18 @@
+package com.swarm.feedback.service;
+
+import com.swarm.feedback.payload.request.ExportFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+    enum Format {
+        NDJSON, CSV
+    }
+
+    /** Streams matching feedback from a MongoDB cursor straight to {@code out}. */
+    long exportFeedback(ExportFilter filter, Format format, OutputStream out) throws IOException;
+
+    /** Streams matching submissions from a MongoDB cursor straight to {@code out}. */
+    long exportSubmissions(ExportFilter filter, Format format, OutputStream out) throws IOException;
+}
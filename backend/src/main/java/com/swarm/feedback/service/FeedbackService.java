@@ -1,7 +1,9 @@
 package com.swarm.feedback.service;
 
 import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.payload.response.PageResponse;
 import java.util.List;
+import java.util.Optional;
 
 public interface FeedbackService {
     Feedback createFeedback(Feedback feedback);
@@ -13,4 +15,24 @@ public interface FeedbackService {
     List<Feedback> getFeedbackReceivedByUserId(String userId);
 
     List<Feedback> getAllFeedback();
+
+    Optional<Feedback> getFeedbackById(String id);
+
+    PageResponse<Feedback> getAllFeedbackPage(String cursor, int size);
+
+    // Feedback the user gave plus feedback received on their submissions
+    // (APPROVED only unless includeUnapprovedReceived), in one keyset page.
+    PageResponse<Feedback> getFeedbackForUserPage(String userId, boolean includeUnapprovedReceived, String cursor,
+            int size);
+
+    // Targeted single-document updates: only the changed fields are $set and the
+    // updated document is returned.
+    Optional<Feedback> replyToFeedback(String id, String reply);
+
+    Optional<Feedback> updateFeedbackContent(String id, String comments, Integer rating);
+
+    Optional<Feedback> updateFeedbackStatus(String id, String status, String rejectionReason);
+
+    // Sets markedHelpful only if it was not already set; empty when nothing changed.
+    Optional<Feedback> markHelpful(String id);
 }
@@ -0,0 +1,49 @@
+package com.swarm.feedback.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.locks.Lock;
+
+public interface FileStorageService {
+    /**
+     * Streams {@code body} straight into the uploads directory under its SHA-256
+     * digest, enforcing the size limit for {@code contentType} as bytes arrive.
+     * {@code declaredLength} is the Content-Length, or -1 when unknown. Nothing is
+     * left behind on failure, and content that is already stored is not duplicated.
+     */
+    StoredFile store(InputStream body, String originalName, String contentType, long declaredLength)
+            throws IOException;
+
+    /**
+     * Moves a file that was written elsewhere under the uploads directory (same
+     * file system) into the store, given its SHA-256; deduplicates like the others.
+     */
+    StoredFile storeAssembled(Path file, String digest, long size, String originalName, String contentType)
+            throws IOException;
+
+    /** Stores an already-parsed multipart upload the same way. */
+    StoredFile store(MultipartFile file) throws IOException;
+
+    /**
+     * Size limit in bytes for an upload. It follows the type the file will be
+     * stored and served as, which comes from its extension (falling back to
+     * {@code contentType} when the name has none), so a declared Content-Type
+     * cannot buy a larger limit for a file that is served as something else.
+     */
+    long maxSizeFor(String originalName, String contentType);
+
+    Path getUploadDir();
+
+    /**
+     * Lock for one stored file name, held while an upload is deduplicated against
+     * it and while the garbage collector deletes it, so neither can act on a
+     * stale view of the other.
+     */
+    Lock blobLock(String fileName);
+
+    /** Derived files (compressed copies, thumbnails) keyed by blob name; removed with the blob. */
+    Path getVariantDir();
+}
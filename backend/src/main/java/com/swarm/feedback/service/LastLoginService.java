@@ -0,0 +1,11 @@
+package com.swarm.feedback.service;
+
+import java.time.LocalDateTime;
+
+public interface LastLoginService {
+    /** Records a login; the timestamp is persisted on the next flush. */
+    void recordLogin(String userId, LocalDateTime at);
+
+    /** Writes all pending timestamps; returns the number of users updated. */
+    int flush();
+}
@@ -0,0 +1,22 @@
+package com.swarm.feedback.service;
+
+import com.swarm.feedback.model.User;
+import com.swarm.feedback.payload.response.LeaderboardEntry;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface LeaderboardService {
+    List<LeaderboardEntry> getTop(int k);
+
+    List<LeaderboardEntry> getPage(int page, int size);
+
+    Optional<LeaderboardEntry> getRank(String userId);
+
+    int size();
+
+    /** Inserts or repositions a user after their points or display fields change. */
+    void update(User user);
+
+    void remove(String userId);
+}
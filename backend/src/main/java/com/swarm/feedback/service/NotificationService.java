@@ -0,0 +1,9 @@
+package com.swarm.feedback.service;
+
+public interface NotificationService {
+    /** Queues a new-feedback notice for the submission owner; sent coalesced on the next flush. */
+    void notifyNewFeedback(String ownerUserId, String submissionId);
+
+    /** Sends one frame per user with pending notices; returns the number of frames sent. */
+    int flush();
+}
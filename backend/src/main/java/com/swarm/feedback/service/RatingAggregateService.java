@@ -0,0 +1,29 @@
+package com.swarm.feedback.service;
+
+import com.swarm.feedback.model.Feedback;
+
+public interface RatingAggregateService {
+    /**
+     * Adjusts the submission, owner and reviewer aggregates for a feedback
+     * transition. {@code before} is null for newly created feedback.
+     */
+    void applyChange(Feedback before, Feedback after);
+
+    /** Applies a change in APPROVED ratings to a submission and its owner. */
+    void applyDelta(String submissionId, RatingDelta delta);
+
+    /**
+     * The submission part of {@link #applyDelta}, as a single write; returns
+     * the owner's id, or null when the submission does not exist.
+     */
+    String applySubmissionDelta(String submissionId, RatingDelta delta);
+
+    /** The owner part of {@link #applyDelta} (the user's rating totals), as a single write. */
+    void applyOwnerDelta(String ownerUserId, RatingDelta delta);
+
+    /**
+     * Recomputes every submission and user aggregate, and the user stats read
+     * model, from the feedback collection while incremental deltas wait.
+     */
+    RatingRebuildResult rebuild();
+}
@@ -0,0 +1,57 @@
+package com.swarm.feedback.service;
+
+import com.swarm.feedback.model.Feedback;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Signed change to a rating aggregate: overall sum/count plus per-dimension
+ * sums/counts from {@code Feedback.dimensionRatings}.
+ */
+@Getter
+public class RatingDelta {
+    private long sum;
+
+    private int count;
+
+    private final Map<String, Long> dimensionSums = new HashMap<>();
+
+    private final Map<String, Integer> dimensionCounts = new HashMap<>();
+
+    public static RatingDelta between(Feedback before, Feedback after) {
+        RatingDelta delta = new RatingDelta();
+        delta.add(after, 1);
+        delta.add(before, -1);
+        return delta;
+    }
+
+    public RatingDelta add(Feedback feedback, int sign) {
+        if (feedback == null || feedback.getRating() == null) {
+            return this;
+        }
+        sum += (long) sign * feedback.getRating();
+        count += sign;
+        if (feedback.getDimensionRatings() != null) {
+            feedback.getDimensionRatings().forEach((dimension, value) -> {
+                if (value != null && isStorableKey(dimension)) {
+                    dimensionSums.merge(dimension, (long) sign * value, Long::sum);
+                    dimensionCounts.merge(dimension, sign, Integer::sum);
+                }
+            });
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return sum == 0 && count == 0
+                && dimensionSums.values().stream().allMatch(v -> v == 0)
+                && dimensionCounts.values().stream().allMatch(v -> v == 0);
+    }
+
+    // Dimension names become document field names
+    private static boolean isStorableKey(String key) {
+        return key != null && !key.isEmpty() && key.indexOf('.') < 0 && !key.startsWith("$");
+    }
+}
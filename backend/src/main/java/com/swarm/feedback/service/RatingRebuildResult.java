@@ -0,0 +1,16 @@
+package com.swarm.feedback.service;
+
+import lombok.Getter;
+
+/** What a {@link RatingAggregateService#rebuild()} pass rewrote. */
+@Getter
+public class RatingRebuildResult {
+    private final int submissionsRated;
+
+    private final int userStats;
+
+    public RatingRebuildResult(int submissionsRated, int userStats) {
+        this.submissionsRated = submissionsRated;
+        this.userStats = userStats;
+    }
+}
@@ -0,0 +1,7 @@
+package com.swarm.feedback.service;
+
+public interface ReputationService {
+    void recordReviewsGiven(String reviewerId, int reviews);
+
+    void recordHelpfulVote(String reviewerId);
+}
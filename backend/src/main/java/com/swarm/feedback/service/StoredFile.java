@@ -0,0 +1,26 @@
+package com.swarm.feedback.service;
+
+import lombok.Getter;
+
+/** A blob in the uploads directory, named after its SHA-256 digest. */
+@Getter
+public class StoredFile {
+    private final String fileName;
+
+    private final String digest;
+
+    private final long size;
+
+    private final String contentType;
+
+    /** True when identical content was already stored and the upload was discarded. */
+    private final boolean deduplicated;
+
+    public StoredFile(String fileName, String digest, long size, String contentType, boolean deduplicated) {
+        this.fileName = fileName;
+        this.digest = digest;
+        this.size = size;
+        this.contentType = contentType;
+        this.deduplicated = deduplicated;
+    }
+}
@@ -1,6 +1,7 @@
 package com.swarm.feedback.service;
 
 import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.payload.response.PageResponse;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +15,18 @@ public interface SubmissionService {
     List<Submission> getSubmissionsByStatus(String status);
 
     Optional<Submission> getSubmissionById(String id);
+
+    /** Field-level status change; returns the updated submission, empty if it does not exist. */
+    Optional<Submission> updateSubmissionStatus(String id, String status, String rejectionReason);
+
+    /** Drops cached copies after a write that bypasses this service. */
+    void evictCached(String id, String status);
+
+    void evictAllCached();
+
+    PageResponse<Submission> getSubmissionsPage(String cursor, int size);
+
+    PageResponse<Submission> getSubmissionsByStatusPage(String status, String cursor, int size);
+
+    PageResponse<Submission> getSubmissionsByUserIdPage(String userId, String cursor, int size);
 }
@@ -0,0 +1,38 @@
+package com.swarm.feedback.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+public interface ThumbnailService {
+    /** Square-ish avatars rendered at 40px (2x for high-density screens). */
+    int SMALL = 80;
+
+    /** Profile header and card images. */
+    int MEDIUM = 256;
+
+    List<Integer> SIZES = List.of(SMALL, MEDIUM);
+
+    /** Queues every thumbnail size for an uploaded file; returns immediately, ignores non-images. */
+    void generateAsync(String fileName);
+
+    /**
+     * The thumbnail of {@code fileName} at {@code size}, generating it now if it does
+     * not exist yet (files uploaded before the pipeline). Null when the file is not a
+     * readable image, the size is not one of {@link #SIZES}, or the pool is saturated.
+     */
+    Path thumbnail(String fileName, int size) throws IOException;
+
+    /** URL of the {@code size} thumbnail for an upload URL; other URLs are returned unchanged. */
+    static String url(String uploadUrl, int size) {
+        if (uploadUrl == null) {
+            return null;
+        }
+        int marker = uploadUrl.lastIndexOf("/uploads/");
+        if (marker < 0) {
+            return uploadUrl;
+        }
+        int nameStart = marker + "/uploads/".length();
+        return uploadUrl.substring(0, nameStart) + "w" + size + "/" + uploadUrl.substring(nameStart);
+    }
+}
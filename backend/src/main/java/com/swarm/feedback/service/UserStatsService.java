@@ -0,0 +1,19 @@
+package com.swarm.feedback.service;
+
+import com.swarm.feedback.model.UserStats;
+
+import java.util.Optional;
+
+public interface UserStatsService {
+    void recordGiven(String userId, RatingDelta delta);
+
+    void recordReceived(String userId, RatingDelta delta);
+
+    Optional<UserStats> getStats(String userId);
+
+    /**
+     * Recomputes every user's stats from the feedback collection. Called from
+     * {@link RatingAggregateService#rebuild()}, which holds off submission deltas meanwhile.
+     */
+    int rebuild();
+}
@@ -1,19 +1,28 @@
 package com.swarm.feedback.service.impl;
 
 import com.swarm.feedback.model.ActivityLog;
-import com.swarm.feedback.repository.ActivityLogRepository;
+import com.swarm.feedback.payload.request.ActivityLogFilter;
+import com.swarm.feedback.payload.response.PageResponse;
+import com.swarm.feedback.repository.ActivityLogPartitions;
+import com.swarm.feedback.repository.KeysetPager;
 import com.swarm.feedback.service.ActivityLogService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
 import java.util.Map;
 
 @Service
 public class ActivityLogServiceImpl implements ActivityLogService {
 
     @Autowired
-    private ActivityLogRepository activityLogRepository;
+    private ActivityLogWriter activityLogWriter;
+
+    @Autowired
+    private ActivityLogPartitions activityLogPartitions;
+
+    @Autowired
+    private KeysetPager keysetPager;
 
     @Override
     public void logActivity(String userId, String actionType, Map<String, Object> details) {
@@ -21,11 +30,29 @@ public class ActivityLogServiceImpl implements ActivityLogService {
         log.setUserId(userId);
         log.setActionType(actionType);
         log.setDetails(details);
-        activityLogRepository.save(log);
+        activityLogWriter.write(log);
     }
 
     @Override
-    public List<ActivityLog> getLogsByUserId(String userId) {
-        return activityLogRepository.findByUserId(userId);
+    public PageResponse<ActivityLog> getLogs(ActivityLogFilter filter, String cursor, Integer size) {
+        Criteria criteria = new Criteria();
+        if (filter.getUserId() != null) {
+            criteria.and("userId").is(filter.getUserId());
+        }
+        if (filter.getActionType() != null) {
+            criteria.and("actionType").is(filter.getActionType());
+        }
+        if (filter.getFrom() != null || filter.getTo() != null) {
+            Criteria createdAt = criteria.and("createdAt");
+            if (filter.getFrom() != null) {
+                createdAt.gte(filter.getFrom());
+            }
+            if (filter.getTo() != null) {
+                createdAt.lt(filter.getTo());
+            }
+        }
+        return keysetPager.page(criteria, cursor, keysetPager.resolveSize(size), ActivityLog.class,
+                activityLogPartitions.collectionsBetween(filter.getFrom(), filter.getTo()),
+                ActivityLog::getCreatedAt, ActivityLog::getId);
     }
 }
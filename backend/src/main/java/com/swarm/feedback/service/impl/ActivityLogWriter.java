@@ -0,0 +1,243 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.model.ActivityLog;
+import com.swarm.feedback.repository.ActivityLogPartitions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Buffers activity log entries off the request path and writes them as
+ * unordered bulk inserts, flushing when a batch fills or the flush interval
+ * elapses. The buffer is a bounded lock-free queue; what happens when it is
+ * full is decided by {@link OverflowPolicy}. Pending entries are written on
+ * shutdown.
+ */
+@Component
+public class ActivityLogWriter implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogWriter.class);
+
+    public enum OverflowPolicy {
+        /** Wait up to activity-log.block-timeout-ms for space, then drop the entry. */
+        BLOCK,
+        /** Evict the oldest buffered entry to make room. */
+        DROP_OLDEST,
+        /** Past half capacity keep only one in activity-log.sample-rate entries; drop when full. */
+        SAMPLE
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ActivityLogPartitions activityLogPartitions;
+
+    @Value("${activity-log.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${activity-log.batch-size:200}")
+    private int batchSize;
+
+    @Value("${activity-log.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${activity-log.overflow-policy:BLOCK}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${activity-log.block-timeout-ms:100}")
+    private long blockTimeoutMs;
+
+    @Value("${activity-log.sample-rate:10}")
+    private int sampleRate;
+
+    @Value("${activity-log.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private final ConcurrentLinkedQueue<ActivityLog> queue = new ConcurrentLinkedQueue<>();
+
+    // ConcurrentLinkedQueue.size() is O(n); track depth separately to bound the queue
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private final AtomicLong sampleSequence = new AtomicLong();
+
+    private Thread worker;
+
+    private volatile boolean running;
+
+    private DistributionSummary batchSizeSummary;
+
+    private Counter writtenCounter;
+
+    private Counter failedCounter;
+
+    public void write(ActivityLog log) {
+        if (!running) {
+            insert(List.of(log));
+            return;
+        }
+        if (!admit()) {
+            dropped("full");
+            return;
+        }
+        queue.offer(log);
+        if (depth.get() >= batchSize) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    private boolean admit() {
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                while (!reserve()) {
+                    if (queue.poll() != null) {
+                        depth.decrementAndGet();
+                        dropped("oldest");
+                    }
+                }
+                return true;
+            case SAMPLE:
+                if (depth.get() >= queueCapacity / 2 && sampleSequence.incrementAndGet() % sampleRate != 0) {
+                    dropped("sampled");
+                    return false;
+                }
+                return reserve();
+            case BLOCK:
+            default:
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+                while (!reserve()) {
+                    if (System.nanoTime() >= deadline || !running) {
+                        return false;
+                    }
+                    LockSupport.unpark(worker);
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                }
+                return true;
+        }
+    }
+
+    private boolean reserve() {
+        int current;
+        do {
+            current = depth.get();
+            if (current >= queueCapacity) {
+                return false;
+            }
+        } while (!depth.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private void dropped(String reason) {
+        meterRegistry.counter("activity.log.dropped", "reason", reason).increment();
+    }
+
+    @Override
+    public void start() {
+        batchSizeSummary = meterRegistry.summary("activity.log.batch.size");
+        writtenCounter = meterRegistry.counter("activity.log.written");
+        failedCounter = meterRegistry.counter("activity.log.failed");
+        Gauge.builder("activity.log.queue.depth", this, ActivityLogWriter::getQueueDepth)
+                .register(meterRegistry);
+        running = true;
+        worker = new Thread(this::runWorker, "activity-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (depth.get() > 0) {
+            logger.warn("Activity log writer stopped with {} unwritten entries", depth.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runWorker() {
+        long lastFlush = System.nanoTime();
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (running || depth.get() > 0) {
+            long waited = System.nanoTime() - lastFlush;
+            if (running && depth.get() < batchSize && waited < intervalNanos) {
+                LockSupport.parkNanos(this, intervalNanos - waited);
+                continue;
+            }
+            drainBatch();
+            lastFlush = System.nanoTime();
+        }
+    }
+
+    private void drainBatch() {
+        List<ActivityLog> batch = new ArrayList<>(batchSize);
+        ActivityLog log;
+        while (batch.size() < batchSize && (log = queue.poll()) != null) {
+            depth.decrementAndGet();
+            batch.add(log);
+        }
+        if (!batch.isEmpty()) {
+            insert(batch);
+        }
+    }
+
+    private void insert(List<ActivityLog> batch) {
+        Map<String, List<ActivityLog>> byCollection = new LinkedHashMap<>();
+        for (ActivityLog log : batch) {
+            byCollection.computeIfAbsent(activityLogPartitions.collectionFor(log.getCreatedAt()),
+                    name -> new ArrayList<>()).add(log);
+        }
+        byCollection.forEach(this::insert);
+    }
+
+    private void insert(String collection, List<ActivityLog> batch) {
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ActivityLog.class,
+                    collection);
+            bulk.insert(batch);
+            bulk.execute();
+            if (writtenCounter != null) {
+                batchSizeSummary.record(batch.size());
+                writtenCounter.increment(batch.size());
+            }
+        } catch (Exception e) {
+            if (failedCounter != null) {
+                failedCounter.increment(batch.size());
+            }
+            logger.error("Failed to write {} activity log entries to {}", batch.size(), collection, e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.swarm.feedback.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.repository.SubmissionRepository;
+import com.swarm.feedback.service.ApprovedFeedService;
+import com.swarm.feedback.service.ApprovedFeedSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the approved feed from a snapshot that is rebuilt at most once per
+ * change: every eviction touching an APPROVED submission bumps the version,
+ * and the next reader rebuilds (one at a time) from MongoDB.
+ */
+@Service
+public class ApprovedFeedServiceImpl implements ApprovedFeedService {
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile ApprovedFeedSnapshot snapshot;
+
+    @Override
+    public ApprovedFeedSnapshot getSnapshot() {
+        ApprovedFeedSnapshot current = snapshot;
+        if (current != null && current.getVersion() == version.get()) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    @Override
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    private synchronized ApprovedFeedSnapshot rebuild() {
+        // Read the version before querying: a change that lands mid-build leaves
+        // the new snapshot already stale, so the next reader rebuilds again
+        long building = version.get();
+        ApprovedFeedSnapshot current = snapshot;
+        if (current != null && current.getVersion() == building) {
+            return current;
+        }
+        List<Submission> approved = submissionRepository.findByStatus("APPROVED");
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(approved);
+            current = new ApprovedFeedSnapshot(building, etag(json), json, gzip(json));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        snapshot = current;
+        meterRegistry.counter("approved.feed.rebuilds").increment();
+        return current;
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        }
+        return out.toByteArray();
+    }
+}
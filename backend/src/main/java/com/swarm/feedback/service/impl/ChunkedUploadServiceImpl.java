@@ -0,0 +1,473 @@
+package com.swarm.feedback.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.swarm.feedback.payload.request.UploadSessionRequest;
+import com.swarm.feedback.payload.response.UploadSessionResponse;
+import com.swarm.feedback.service.ChunkedUploadService;
+import com.swarm.feedback.service.FileStorageService;
+import com.swarm.feedback.service.StoredFile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Chunked upload sessions, held in memory and backed by one {@code .part} file
+ * each under {@code uploads/.sessions}. Chunks are written positionally into
+ * that file, so they can arrive in any order and concurrently, and nothing is
+ * copied when the session completes: the part file is moved into the
+ * content-addressed store as is.
+ * <p>
+ * The SHA-256 is kept up to date over the contiguous prefix of received chunks:
+ * whenever that prefix grows, the newly covered chunks are read back once (they
+ * were just written, so this is normally served from the page cache). One thread
+ * at a time does this, outside the session's monitor. Completing a session
+ * therefore only finalizes the digest instead of re-reading the file.
+ * <p>
+ * Sessions expire after {@code uploads.sessions.ttl-minutes} without activity;
+ * expiry, abort and a failed checksum all close and delete the part file. The
+ * state lives on this node only, so with several instances a session's requests
+ * must be routed to the node that created it.
+ */
+@Service
+public class ChunkedUploadServiceImpl implements ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadServiceImpl.class);
+
+    static final String SESSION_DIR = ".sessions";
+
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${uploads.sessions.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Value("${uploads.sessions.default-chunk-size:8MB}")
+    private DataSize defaultChunkSize;
+
+    @Value("${uploads.sessions.min-chunk-size:1MB}")
+    private DataSize minChunkSize;
+
+    @Value("${uploads.sessions.max-chunk-size:64MB}")
+    private DataSize maxChunkSize;
+
+    @Value("${uploads.sessions.max-per-user:4}")
+    private int maxPerUser;
+
+    // Replaced in tests to drive expiry
+    Ticker ticker = Ticker.systemTicker();
+
+    private Path sessionDir;
+
+    private Cache<String, UploadSession> sessions;
+
+    private Counter completed;
+
+    private Counter expired;
+
+    private Counter checksumMismatches;
+
+    @PostConstruct
+    void init() throws IOException {
+        sessionDir = fileStorageService.getUploadDir().resolve(SESSION_DIR);
+        Files.createDirectories(sessionDir);
+        // Sessions do not survive a restart, so any part file left behind is orphaned
+        try (Stream<Path> leftovers = Files.list(sessionDir)) {
+            for (Path part : leftovers.toList()) {
+                Files.deleteIfExists(part);
+            }
+        }
+
+        sessions = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(ttlMinutes))
+                .ticker(ticker)
+                .scheduler(Scheduler.systemScheduler())
+                .executor(Runnable::run)
+                .removalListener((String id, UploadSession session, RemovalCause cause) -> discard(session, cause))
+                .build();
+
+        meterRegistry.gauge("uploads.sessions.active", sessions, cache -> cache.estimatedSize());
+        completed = meterRegistry.counter("uploads.sessions.completed");
+        expired = meterRegistry.counter("uploads.sessions.expired");
+        checksumMismatches = meterRegistry.counter("uploads.sessions.rejected", "reason", "checksum");
+    }
+
+    @PreDestroy
+    void close() {
+        sessions.invalidateAll();
+    }
+
+    @Override
+    public UploadSessionResponse create(String owner, UploadSessionRequest request) throws IOException {
+        long size = request.getSize();
+        long limit = fileStorageService.maxSizeFor(request.getFileName(), request.getContentType());
+        if (size > limit) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Upload exceeds the " + DataSize.ofBytes(limit).toMegabytes() + " MB limit for this file type");
+        }
+        long chunkSize = request.getChunkSize() != null ? request.getChunkSize() : defaultChunkSize.toBytes();
+        // A chunk below the minimum is only allowed when it covers the whole file
+        if (chunkSize > maxChunkSize.toBytes() || (chunkSize < minChunkSize.toBytes() && chunkSize < size)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "chunkSize must be between "
+                    + minChunkSize.toBytes() + " and " + maxChunkSize.toBytes() + " bytes");
+        }
+        long active = sessions.asMap().values().stream().filter(s -> s.owner.equals(owner)).count();
+        if (active >= maxPerUser) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many unfinished uploads; complete or cancel one first");
+        }
+
+        String id = UUID.randomUUID().toString();
+        Path part = sessionDir.resolve(id + FileStorageServiceImpl.PART_SUFFIX);
+        FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        UploadSession session = new UploadSession(id, owner, request.getFileName(), request.getContentType(),
+                size, Math.min(chunkSize, size), part, channel);
+        sessions.put(id, session);
+        return describe(session);
+    }
+
+    @Override
+    public UploadSessionResponse status(String owner, String sessionId) {
+        return describe(find(owner, sessionId));
+    }
+
+    @Override
+    public UploadSessionResponse writeChunk(String owner, String sessionId, int index, InputStream body,
+            long declaredLength) throws IOException {
+        UploadSession session = find(owner, sessionId);
+        if (index < 0 || index >= session.chunkCount) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Chunk index must be between 0 and " + (session.chunkCount - 1));
+        }
+        long expected = session.chunkLength(index);
+        if (declaredLength >= 0 && declaredLength != expected) {
+            throw chunkLengthMismatch(index, expected);
+        }
+
+        synchronized (session) {
+            if (session.received.get(index)) {
+                // A retry of a chunk whose response was lost
+                return describe(session);
+            }
+            if (session.writing.get(index)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Chunk " + index + " is already being uploaded");
+            }
+            session.writing.set(index);
+        }
+
+        try {
+            long written = write(Channels.newChannel(body), session.channel, (long) index * session.chunkSize,
+                    expected);
+            if (written != expected) {
+                throw chunkLengthMismatch(index, expected);
+            }
+            synchronized (session) {
+                session.received.set(index);
+            }
+        } finally {
+            synchronized (session) {
+                session.writing.clear(index);
+            }
+        }
+        try {
+            session.advanceDigest();
+        } catch (IOException e) {
+            // The chunk itself is stored; complete() hashes again from the start
+            logger.warn("Could not hash upload session {}: {}", sessionId, e.getMessage());
+        }
+        return describe(session);
+    }
+
+    @Override
+    public StoredFile complete(String owner, String sessionId, String sha256) throws IOException {
+        UploadSession session = find(owner, sessionId);
+        synchronized (session) {
+            int missing = session.chunkCount - session.received.cardinality();
+            if (missing > 0 || !session.writing.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        missing + " of " + session.chunkCount + " chunks have not been received");
+            }
+            if (session.completing) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Upload is already being completed");
+            }
+            session.completing = true;
+        }
+
+        boolean stored = false;
+        try {
+            String digest = session.awaitDigest();
+            if (!digest.equalsIgnoreCase(sha256)) {
+                // Some chunk was corrupted and there is no telling which one
+                checksumMismatches.increment();
+                sessions.invalidate(sessionId);
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Checksum mismatch; the upload was discarded");
+            }
+            session.channel.close();
+            StoredFile result = fileStorageService.storeAssembled(session.part, digest, session.size,
+                    session.fileName, session.contentType);
+            stored = true;
+            sessions.invalidate(sessionId);
+            completed.increment();
+            return result;
+        } finally {
+            if (!stored) {
+                synchronized (session) {
+                    session.completing = false;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void abort(String owner, String sessionId) {
+        find(owner, sessionId);
+        sessions.invalidate(sessionId);
+    }
+
+    /** Runs pending expirations now rather than on the scheduler's next tick. */
+    void expireIdle() {
+        sessions.cleanUp();
+    }
+
+    private UploadSession find(String owner, String sessionId) {
+        UploadSession session = sessionId == null ? null : sessions.getIfPresent(sessionId);
+        // Another user's session is reported as missing rather than forbidden
+        if (session == null || !session.owner.equals(owner)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Upload session not found or expired");
+        }
+        return session;
+    }
+
+    private void discard(UploadSession session, RemovalCause cause) {
+        if (session == null) {
+            return;
+        }
+        if (cause == RemovalCause.EXPIRED) {
+            expired.increment();
+        }
+        try {
+            session.channel.close();
+            // Already gone when the session completed and the file was moved into the store
+            Files.deleteIfExists(session.part);
+        } catch (IOException e) {
+            logger.warn("Could not delete {} of upload session {}: {}", session.part, session.id, e.getMessage());
+        }
+    }
+
+    private UploadSessionResponse describe(UploadSession session) {
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(ttlMinutes));
+        synchronized (session) {
+            return new UploadSessionResponse(session.id, session.fileName, session.size, session.chunkSize,
+                    session.chunkCount, session.received.stream().boxed().toList(), expiresAt);
+        }
+    }
+
+    /**
+     * Copies the body to {@code position}, reading at most one byte more than
+     * expected so an overlong chunk is detected without writing past its slot.
+     */
+    private static long write(ReadableByteChannel source, FileChannel target, long position, long expected)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+        long written = 0;
+        while (written <= expected) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), expected + 1 - written));
+            if (source.read(buffer) < 0) {
+                break;
+            }
+            buffer.flip();
+            if (written + buffer.remaining() > expected) {
+                return written + buffer.remaining();
+            }
+            while (buffer.hasRemaining()) {
+                written += target.write(buffer, position + written);
+            }
+        }
+        return written;
+    }
+
+    private static ResponseStatusException chunkLengthMismatch(int index, long expected) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Chunk " + index + " must be exactly " + expected + " bytes");
+    }
+
+    private static final class UploadSession {
+        final String id;
+        final String owner;
+        final String fileName;
+        final String contentType;
+        final long size;
+        final long chunkSize;
+        final int chunkCount;
+        final Path part;
+        final FileChannel channel;
+
+        // Guarded by this
+        final BitSet received = new BitSet();
+        final BitSet writing = new BitSet();
+        int hashedChunks;
+        boolean hashing;
+        boolean completing;
+        String hexDigest;
+
+        // Only touched by the thread that set hashing
+        final MessageDigest digest = sha256();
+
+        UploadSession(String id, String owner, String fileName, String contentType, long size, long chunkSize,
+                Path part, FileChannel channel) {
+            this.id = id;
+            this.owner = owner;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.size = size;
+            this.chunkSize = chunkSize;
+            this.chunkCount = (int) ((size + chunkSize - 1) / chunkSize);
+            this.part = part;
+            this.channel = channel;
+        }
+
+        long chunkLength(int index) {
+            return Math.min(chunkSize, size - (long) index * chunkSize);
+        }
+
+        /**
+         * Extends the digest over any chunks that now continue the hashed prefix,
+         * unless another thread is already doing so (it will pick these up too).
+         */
+        void advanceDigest() throws IOException {
+            synchronized (this) {
+                if (hashing || hashedChunks == chunkCount || !received.get(hashedChunks)) {
+                    return;
+                }
+                hashing = true;
+            }
+            hashPrefix();
+        }
+
+        /** The file's digest, once every chunk is received; hashes what is left or waits for the hasher. */
+        String awaitDigest() throws IOException {
+            while (true) {
+                synchronized (this) {
+                    if (hashedChunks == chunkCount) {
+                        if (hexDigest == null) {
+                            hexDigest = HexFormat.of().formatHex(digest.digest());
+                        }
+                        return hexDigest;
+                    }
+                    if (hashing) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new InterruptedIOException("Interrupted while hashing upload session " + id);
+                        }
+                        continue;
+                    }
+                    hashing = true;
+                }
+                hashPrefix();
+            }
+        }
+
+        /**
+         * Runs by the hashing owner: claims the received run after the hashed
+         * prefix under the monitor, reads and hashes it outside, then publishes
+         * the new prefix. Status queries and other chunks never wait for the I/O.
+         */
+        private void hashPrefix() throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+            try {
+                while (true) {
+                    int from;
+                    int to;
+                    synchronized (this) {
+                        from = hashedChunks;
+                        to = from;
+                        while (to < chunkCount && received.get(to)) {
+                            to++;
+                        }
+                        if (to == from) {
+                            hashing = false;
+                            notifyAll();
+                            return;
+                        }
+                    }
+                    hashRange((long) from * chunkSize, Math.min(size, (long) to * chunkSize), buffer);
+                    synchronized (this) {
+                        hashedChunks = to;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                // The digest may hold part of a chunk; start over on the next attempt
+                synchronized (this) {
+                    digest.reset();
+                    hashedChunks = 0;
+                    hashing = false;
+                    notifyAll();
+                }
+                throw e;
+            }
+        }
+
+        private void hashRange(long position, long end, ByteBuffer buffer) throws IOException {
+            while (position < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("Upload session " + id + " is missing data at " + position);
+                }
+                buffer.flip();
+                digest.update(buffer);
+                position += read;
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.swarm.feedback.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.payload.request.ExportFilter;
+import com.swarm.feedback.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Bulk exports that never materialize the result set: rows are read from a
+ * MongoDB cursor and written one at a time, with a flush every
+ * {@code export.flush-batch-size} rows so memory stays constant.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final List<String> FEEDBACK_COLUMNS = List.of("id", "submissionId", "reviewerUserId", "rating",
+            "status", "createdAt", "comments", "rejectionReason", "submitterReply");
+
+    private static final List<String> SUBMISSION_COLUMNS = List.of("id", "ownerUserId", "title", "status",
+            "createdAt", "ratingCount", "averageRating", "description");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${export.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Override
+    public long exportFeedback(ExportFilter filter, Format format, OutputStream out) throws IOException {
+        Query query = baseQuery(filter);
+        if (filter.getSubmissionId() != null) {
+            query.addCriteria(Criteria.where("submissionId").is(filter.getSubmissionId()));
+        }
+        try (Stream<Feedback> rows = mongoTemplate.stream(query, Feedback.class)) {
+            return write(rows, format, out, FEEDBACK_COLUMNS, f -> new Object[] { f.getId(), f.getSubmissionId(),
+                    f.getReviewerUserId(), f.getRating(), f.getStatus(), f.getCreatedAt(), f.getComments(),
+                    f.getRejectionReason(), f.getSubmitterReply() });
+        }
+    }
+
+    @Override
+    public long exportSubmissions(ExportFilter filter, Format format, OutputStream out) throws IOException {
+        try (Stream<Submission> rows = mongoTemplate.stream(baseQuery(filter), Submission.class)) {
+            return write(rows, format, out, SUBMISSION_COLUMNS, s -> new Object[] { s.getId(), s.getOwnerUserId(),
+                    s.getTitle(), s.getStatus(), s.getCreatedAt(), s.getRatingCount(), s.getAverageRating(),
+                    s.getDescription() });
+        }
+    }
+
+    private Query baseQuery(ExportFilter filter) {
+        Query query = new Query().cursorBatchSize(flushBatchSize);
+        if (filter.getStatus() != null) {
+            query.addCriteria(Criteria.where("status").is(filter.getStatus()));
+        }
+        if (filter.getFrom() != null || filter.getTo() != null) {
+            Criteria createdAt = Criteria.where("createdAt");
+            if (filter.getFrom() != null) {
+                createdAt.gte(filter.getFrom());
+            }
+            if (filter.getTo() != null) {
+                createdAt.lt(filter.getTo());
+            }
+            query.addCriteria(createdAt);
+        }
+        return query;
+    }
+
+    private <T> long write(Stream<T> rows, Format format, OutputStream out, List<String> columns,
+            Function<T, Object[]> toCsvRow) throws IOException {
+        return format == Format.CSV
+                ? writeCsv(rows.iterator(), out, columns, toCsvRow)
+                : writeNdjson(rows.iterator(), out);
+    }
+
+    private <T> long writeNdjson(Iterator<T> rows, OutputStream out) throws IOException {
+        long count = 0;
+        // Jackson flushes after every value by default; flush once per batch instead
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                if (++count % flushBatchSize == 0) {
+                    writer.flush();
+                }
+            }
+            if (count > 0) {
+                out.write('\n');
+            }
+        }
+        out.flush();
+        return count;
+    }
+
+    private <T> long writeCsv(Iterator<T> rows, OutputStream out, List<String> columns,
+            Function<T, Object[]> toCsvRow) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", columns));
+        writer.write("\r\n");
+
+        long count = 0;
+        while (rows.hasNext()) {
+            Object[] values = toCsvRow.apply(rows.next());
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvValue(writer, values[i]);
+            }
+            writer.write("\r\n");
+            if (++count % flushBatchSize == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    // RFC 4180: quote values containing separators, quotes or line breaks
+    private static void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -1,12 +1,23 @@
 package com.swarm.feedback.service.impl;
 
 import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.payload.response.PageResponse;
+import com.swarm.feedback.repository.KeysetPager;
 import com.swarm.feedback.repository.FeedbackRepository;
 import com.swarm.feedback.service.FeedbackService;
+import com.swarm.feedback.service.RatingAggregateService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class FeedbackServiceImpl implements FeedbackService {
@@ -14,6 +25,15 @@ public class FeedbackServiceImpl implements FeedbackService {
     @Autowired
     private FeedbackRepository feedbackRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
     @Override
     public Feedback createFeedback(Feedback feedback) {
         return feedbackRepository.save(java.util.Objects.requireNonNull(feedback));
@@ -45,4 +65,103 @@ public class FeedbackServiceImpl implements FeedbackService {
     public List<Feedback> getAllFeedback() {
         return feedbackRepository.findAll();
     }
+
+    @Override
+    public Optional<Feedback> getFeedbackById(String id) {
+        return feedbackRepository.findById(java.util.Objects.requireNonNull(id));
+    }
+
+    @Override
+    public PageResponse<Feedback> getAllFeedbackPage(String cursor, int size) {
+        return keysetPager.page(null, cursor, size, Feedback.class, Feedback::getCreatedAt, Feedback::getId);
+    }
+
+    @Override
+    public PageResponse<Feedback> getFeedbackForUserPage(String userId, boolean includeUnapprovedReceived,
+            String cursor, int size) {
+        List<String> submissionIds = submissionRepository.findByOwnerUserId(userId).stream()
+                .map(com.swarm.feedback.model.Submission::getId)
+                .collect(java.util.stream.Collectors.toList());
+
+        Criteria given = Criteria.where("reviewerUserId").is(userId);
+        Criteria filter = given;
+        if (!submissionIds.isEmpty()) {
+            Criteria received = Criteria.where("submissionId").in(submissionIds);
+            if (!includeUnapprovedReceived) {
+                received = received.and("status").is("APPROVED");
+            }
+            filter = new Criteria().orOperator(given, received);
+        }
+        return keysetPager.page(filter, cursor, size, Feedback.class, Feedback::getCreatedAt, Feedback::getId);
+    }
+
+    @Override
+    public Optional<Feedback> replyToFeedback(String id, String reply) {
+        LocalDateTime repliedAt = LocalDateTime.now();
+        Update update = new Update()
+                .set("submitterReply", reply)
+                .set("submitterRepliedAt", repliedAt);
+        return modifyById(id, update, feedback -> {
+            feedback.setSubmitterReply(reply);
+            feedback.setSubmitterRepliedAt(repliedAt);
+        });
+    }
+
+    @Override
+    public Optional<Feedback> updateFeedbackContent(String id, String comments, Integer rating) {
+        Update update = new Update()
+                .set("comments", comments)
+                .set("rating", rating);
+        return modifyById(id, update, feedback -> {
+            feedback.setComments(comments);
+            feedback.setRating(rating);
+        });
+    }
+
+    @Override
+    public Optional<Feedback> updateFeedbackStatus(String id, String status, String rejectionReason) {
+        Update update = new Update().set("status", status);
+        boolean setReason = "REJECTED".equals(status) && rejectionReason != null;
+        if (setReason) {
+            update.set("rejectionReason", rejectionReason);
+        }
+        return modifyById(id, update, feedback -> {
+            feedback.setStatus(status);
+            if (setReason) {
+                feedback.setRejectionReason(rejectionReason);
+            }
+        });
+    }
+
+    @Override
+    public Optional<Feedback> markHelpful(String id) {
+        Query query = Query.query(Criteria.where("_id").is(java.util.Objects.requireNonNull(id))
+                .and("markedHelpful").ne(true));
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, new Update().set("markedHelpful", true),
+                FindAndModifyOptions.options().returnNew(true), Feedback.class));
+    }
+
+    // Applies the update server-side in a single findAndModify on _id. The
+    // pre-update document comes back atomically, so the rating aggregates can be
+    // adjusted by the exact transition; the same changes are then applied to it
+    // locally to return the post-update state.
+    private Optional<Feedback> modifyById(String id, Update update, Consumer<Feedback> applyLocally) {
+        Query query = Query.query(Criteria.where("_id").is(java.util.Objects.requireNonNull(id)));
+        Feedback feedback = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(false), Feedback.class);
+        if (feedback == null) {
+            return Optional.empty();
+        }
+
+        Feedback before = new Feedback();
+        before.setSubmissionId(feedback.getSubmissionId());
+        before.setReviewerUserId(feedback.getReviewerUserId());
+        before.setStatus(feedback.getStatus());
+        before.setRating(feedback.getRating());
+        before.setDimensionRatings(feedback.getDimensionRatings());
+
+        applyLocally.accept(feedback);
+        ratingAggregateService.applyChange(before, feedback);
+        return Optional.of(feedback);
+    }
 }
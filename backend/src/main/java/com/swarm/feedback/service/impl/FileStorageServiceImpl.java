@@ -0,0 +1,308 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.service.FileStorageService;
+import com.swarm.feedback.service.StoredFile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * Content-addressed upload storage under {@code uploads.dir}. Request bodies are
+ * written once, by {@link FileChannel#transferFrom} into a {@code .part} file,
+ * and hashed on the way through; the finished file is named
+ * {@code <sha-256>.<ext>}, so identical content is stored once and a name never
+ * changes meaning. The per-type size limit is checked as each chunk lands, so an
+ * oversized body is cut off at the limit rather than after it has been
+ * received. Any failure (limit, client abort, I/O) deletes the partial file.
+ * Blobs no longer referenced anywhere are removed by {@link UploadGarbageCollector}.
+ */
+@Service
+public class FileStorageServiceImpl implements FileStorageService {
+
+    static final String PART_SUFFIX = ".part";
+
+    static final String VARIANT_DIR = ".variants";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${uploads.dir:uploads}")
+    private String uploadDirectory;
+
+    @Value("${uploads.max-size.image:10MB}")
+    private DataSize maxImageSize;
+
+    @Value("${uploads.max-size.video:500MB}")
+    private DataSize maxVideoSize;
+
+    @Value("${uploads.max-size.default:50MB}")
+    private DataSize maxDefaultSize;
+
+    @Value("${uploads.transfer-chunk-size:8MB}")
+    private DataSize transferChunkSize;
+
+    private Path uploadDir;
+
+    // Striped by file name; contention only between uploads of colliding names and the GC
+    private final Lock[] blobLocks = IntStream.range(0, 64).mapToObj(i -> new ReentrantLock()).toArray(Lock[]::new);
+
+    private Counter storedBytes;
+
+    private Counter deduplicatedBytes;
+
+    private Counter tooLarge;
+
+    private Counter aborted;
+
+    @PostConstruct
+    void init() throws IOException {
+        uploadDir = Paths.get(uploadDirectory).toAbsolutePath().normalize();
+        Files.createDirectories(uploadDir.resolve(VARIANT_DIR));
+        storedBytes = meterRegistry.counter("uploads.bytes");
+        deduplicatedBytes = meterRegistry.counter("uploads.deduplicated.bytes");
+        tooLarge = meterRegistry.counter("uploads.rejected", "reason", "too-large");
+        aborted = meterRegistry.counter("uploads.rejected", "reason", "aborted");
+    }
+
+    @Override
+    public StoredFile store(InputStream body, String originalName, String contentType, long declaredLength)
+            throws IOException {
+        long limit = maxSizeFor(originalName, contentType);
+        if (declaredLength > limit) {
+            throw payloadTooLarge(limit);
+        }
+
+        Path part = Files.createTempFile(uploadDir, ".upload-", PART_SUFFIX);
+        try {
+            long size;
+            String digest;
+            try (DigestingChannel source = new DigestingChannel(Channels.newChannel(body));
+                 FileChannel target = FileChannel.open(part, StandardOpenOption.WRITE)) {
+                size = transfer(source, target, limit);
+                digest = source.hexDigest();
+            }
+            if (declaredLength >= 0 && size != declaredLength) {
+                throw new IOException("Upload ended after " + size + " of " + declaredLength + " bytes");
+            }
+            return storeAssembled(part, digest, size, originalName, contentType);
+        } catch (ResponseStatusException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(part);
+            aborted.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public StoredFile storeAssembled(Path file, String digest, long size, String originalName, String contentType)
+            throws IOException {
+        String fileName = digest + extension(originalName, contentType);
+        Path target = uploadDir.resolve(fileName);
+        Lock lock = blobLock(fileName);
+        lock.lock();
+        try {
+            if (Files.exists(target)) {
+                try {
+                    // Already stored: refresh its age for the GC grace period before dropping our copy
+                    Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+                    Files.delete(file);
+                    deduplicatedBytes.increment(size);
+                    return new StoredFile(fileName, digest, size, contentType, true);
+                } catch (NoSuchFileException e) {
+                    // Collected by another instance sharing the directory; store this copy instead
+                }
+            }
+            // Same name implies same bytes, so losing a race to a concurrent identical upload is harmless
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            storedBytes.increment(size);
+            return new StoredFile(fileName, digest, size, contentType, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copies until end of stream, asking for at most one byte past the limit so
+     * that an oversized body is detected without reading (or storing) more.
+     */
+    private long transfer(DigestingChannel source, FileChannel target, long limit) throws IOException {
+        long chunk = transferChunkSize.toBytes();
+        long position = 0;
+        while (true) {
+            long count = Math.min(chunk, limit + 1 - position);
+            long transferred = target.transferFrom(source, position, count);
+            source.rethrowFailure();
+            position += transferred;
+            if (position > limit) {
+                throw payloadTooLarge(limit);
+            }
+            // transferFrom only returns short when the source is exhausted
+            if (transferred < count) {
+                return position;
+            }
+        }
+    }
+
+    /**
+     * Hashes everything read through it. Also remembers read failures:
+     * {@link FileChannel#transferFrom} returns a short count instead of throwing
+     * when the source fails after some bytes were copied, which would make a
+     * client abort look like end of stream.
+     */
+    private static final class DigestingChannel implements ReadableByteChannel {
+        private final ReadableByteChannel delegate;
+
+        private final MessageDigest digest = sha256();
+
+        private IOException failure;
+
+        DigestingChannel(ReadableByteChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int start = dst.position();
+            int read;
+            try {
+                read = delegate.read(dst);
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+            if (read > 0) {
+                digest.update(dst.duplicate().flip().position(start));
+            }
+            return read;
+        }
+
+        String hexDigest() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        void rethrowFailure() throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+    @Override
+    public StoredFile store(MultipartFile file) throws IOException {
+        // The content has to be read to be hashed, so this goes through the streaming path
+        try (InputStream body = file.getInputStream()) {
+            return store(body, file.getOriginalFilename(), file.getContentType(), file.getSize());
+        }
+    }
+
+    @Override
+    public long maxSizeFor(String originalName, String contentType) {
+        // Resolved the same way UploadController picks the Content-Type it serves
+        String storedType = MediaTypeFactory.getMediaType("upload" + extension(originalName, contentType))
+                .map(MediaType::getType)
+                .orElse("");
+        if (storedType.equals("image")) {
+            return maxImageSize.toBytes();
+        }
+        if (storedType.equals("video")) {
+            return maxVideoSize.toBytes();
+        }
+        return maxDefaultSize.toBytes();
+    }
+
+    @Override
+    public Path getUploadDir() {
+        return uploadDir;
+    }
+
+    @Override
+    public Lock blobLock(String fileName) {
+        return blobLocks[Math.floorMod(fileName.hashCode(), blobLocks.length)];
+    }
+
+    @Override
+    public Path getVariantDir() {
+        return uploadDir.resolve(VARIANT_DIR);
+    }
+
+    /**
+     * Keeps the client's extension (so the blob is served with the right type),
+     * falling back to one derived from the Content-Type.
+     */
+    static String extension(String originalName, String contentType) {
+        String extension = originalName == null ? null : StringUtils.getFilenameExtension(originalName);
+        if (extension != null && extension.matches("[A-Za-z0-9]{1,10}")) {
+            return "." + extension.toLowerCase(Locale.ROOT);
+        }
+        if (contentType != null) {
+            String subtype = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+            switch (subtype) {
+                case "image/jpeg": return ".jpg";
+                case "image/png": return ".png";
+                case "image/gif": return ".gif";
+                case "image/webp": return ".webp";
+                case "video/mp4": return ".mp4";
+                case "application/pdf": return ".pdf";
+                default: break;
+            }
+        }
+        return "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ResponseStatusException payloadTooLarge(long limit) {
+        tooLarge.increment();
+        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "Upload exceeds the " + DataSize.ofBytes(limit).toMegabytes() + " MB limit for this file type");
+    }
+}
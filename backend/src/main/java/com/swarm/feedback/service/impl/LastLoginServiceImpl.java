@@ -0,0 +1,146 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.model.User;
+import com.swarm.feedback.service.LastLoginService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind recorder for {@code User.lastLoginAt}. Logins only update an
+ * in-memory map (latest timestamp per user wins); a background flush sends the
+ * pending entries as unordered bulks of field-level {@code $set} updates.
+ * Entries that fail to flush stay pending for the next run, and everything
+ * left is flushed on shutdown.
+ */
+@Service
+public class LastLoginServiceImpl implements LastLoginService, SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginServiceImpl.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.last-login.flush-interval-ms:5000}")
+    private long flushIntervalMs;
+
+    @Value("${auth.last-login.batch-size:500}")
+    private int batchSize;
+
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    private volatile boolean running;
+
+    private Counter flushedCounter;
+
+    @Override
+    public void recordLogin(String userId, LocalDateTime at) {
+        pending.merge(userId, at, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Override
+    public synchronized int flush() {
+        List<Map.Entry<String, LocalDateTime>> batch = new ArrayList<>(batchSize);
+        int flushed = 0;
+        for (Map.Entry<String, LocalDateTime> entry : pending.entrySet()) {
+            batch.add(Map.entry(entry.getKey(), entry.getValue()));
+            if (batch.size() == batchSize) {
+                flushed += write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flushed += write(batch);
+        }
+        return flushed;
+    }
+
+    private int write(List<Map.Entry<String, LocalDateTime>> batch) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        for (Map.Entry<String, LocalDateTime> entry : batch) {
+            bulk.updateOne(Query.query(Criteria.where("_id").is(entry.getKey())),
+                    Update.update("lastLoginAt", entry.getValue()));
+        }
+        bulk.execute();
+        // Only drop entries that were not superseded by a newer login meanwhile
+        batch.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+        if (flushedCounter != null) {
+            flushedCounter.increment(batch.size());
+        }
+        return batch.size();
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.warn("Failed to flush {} pending last-login timestamps, will retry: {}", pending.size(),
+                    e.getMessage());
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void start() {
+        flushedCounter = meterRegistry.counter("auth.last-login.flushed");
+        Gauge.builder("auth.last-login.pending", this, LastLoginServiceImpl::getPendingCount)
+                .register(meterRegistry);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "last-login-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledFlush, flushIntervalMs, flushIntervalMs,
+                TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(flushIntervalMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Dropping {} last-login timestamps that could not be flushed on shutdown",
+                    pending.size(), e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
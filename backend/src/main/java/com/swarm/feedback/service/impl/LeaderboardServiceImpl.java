@@ -0,0 +1,139 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.model.User;
+import com.swarm.feedback.payload.response.LeaderboardEntry;
+import com.swarm.feedback.service.LeaderboardService;
+import com.swarm.feedback.service.ThumbnailService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory leaderboard seeded at startup from the points index and kept
+ * current by every write that changes a user's points or display fields.
+ */
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardServiceImpl.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final LeaderboardTree tree = new LeaderboardTree();
+
+    private final Map<String, LeaderboardTree.Row> rowsByUser = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "points")).cursorBatchSize(1000);
+        query.fields().include("username", "points", "level", "profilePic");
+        int loaded = 0;
+        try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+            for (User user : (Iterable<User>) users::iterator) {
+                update(user);
+                loaded++;
+            }
+        }
+        logger.info("Leaderboard seeded with {} users", loaded);
+    }
+
+    @Override
+    public List<LeaderboardEntry> getTop(int k) {
+        return getRange(0, k);
+    }
+
+    @Override
+    public List<LeaderboardEntry> getPage(int page, int size) {
+        return getRange(Math.max(0, page) * size, size);
+    }
+
+    @Override
+    public Optional<LeaderboardEntry> getRank(String userId) {
+        lock.readLock().lock();
+        try {
+            LeaderboardTree.Row row = rowsByUser.get(userId);
+            return row == null ? Optional.empty() : Optional.of(toEntry(tree.rank(row) + 1, row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tree.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        LeaderboardTree.Row row = new LeaderboardTree.Row(user.getId(),
+                user.getPoints() == null ? 0 : user.getPoints(), user.getUsername(), user.getLevel(),
+                user.getProfilePic());
+        lock.writeLock().lock();
+        try {
+            LeaderboardTree.Row previous = rowsByUser.put(row.userId, row);
+            if (previous != null) {
+                tree.remove(previous);
+            }
+            tree.insert(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String userId) {
+        lock.writeLock().lock();
+        try {
+            LeaderboardTree.Row previous = rowsByUser.remove(userId);
+            if (previous != null) {
+                tree.remove(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<LeaderboardEntry> getRange(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<LeaderboardTree.Row> rows = tree.range(offset, limit);
+            List<LeaderboardEntry> entries = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                entries.add(toEntry(offset + i + 1, rows.get(i)));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static LeaderboardEntry toEntry(int rank, LeaderboardTree.Row row) {
+        return new LeaderboardEntry(rank, row.userId, row.username, row.points, row.level, row.profilePic,
+                ThumbnailService.url(row.profilePic, ThumbnailService.SMALL));
+    }
+}
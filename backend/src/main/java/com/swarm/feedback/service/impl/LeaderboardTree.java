@@ -0,0 +1,147 @@
+package com.swarm.feedback.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order-statistic treap of leaderboard rows ordered by points descending, then
+ * user id ascending so ties are deterministic. Every node tracks its subtree
+ * size, which makes insert, remove, rank and select O(log n) expected. Not
+ * thread-safe; callers synchronize.
+ */
+final class LeaderboardTree {
+
+    static final class Row {
+        final String userId;
+        final int points;
+        final String username;
+        final String level;
+        final String profilePic;
+
+        Row(String userId, int points, String username, String level, String profilePic) {
+            this.userId = userId;
+            this.points = points;
+            this.username = username;
+            this.level = level;
+            this.profilePic = profilePic;
+        }
+    }
+
+    static final Comparator<Row> ORDER = Comparator.<Row>comparingInt(row -> row.points).reversed()
+            .thenComparing(row -> row.userId);
+
+    private static final class Node {
+        final Row row;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(Row row) {
+            this.row = row;
+        }
+    }
+
+    private Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    void insert(Row row) {
+        Node[] parts = split(root, row, false);
+        root = merge(merge(parts[0], new Node(row)), parts[1]);
+    }
+
+    void remove(Row row) {
+        Node[] lower = split(root, row, false);
+        Node[] upper = split(lower[1], row, true);
+        root = merge(lower[0], upper[1]);
+    }
+
+    /** 0-based position of {@code row}, or -1 if absent. */
+    int rank(Row row) {
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int c = ORDER.compare(row, node.row);
+            if (c < 0) {
+                node = node.left;
+            } else if (c > 0) {
+                before += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return before + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /** Up to {@code limit} rows starting at 0-based position {@code offset}. */
+    List<Row> range(int offset, int limit) {
+        List<Row> out = new ArrayList<>(Math.max(0, Math.min(limit, size() - offset)));
+        collect(root, offset, limit, out);
+        return out;
+    }
+
+    private static void collect(Node node, int offset, int limit, List<Row> out) {
+        if (node == null || out.size() >= limit) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (offset < leftSize) {
+            collect(node.left, offset, limit, out);
+        }
+        if (offset <= leftSize && out.size() < limit) {
+            out.add(node.row);
+        }
+        if (out.size() < limit) {
+            collect(node.right, Math.max(0, offset - leftSize - 1), limit, out);
+        }
+    }
+
+    // Splits into (< key, >= key), or (<= key, > key) when inclusive.
+    private static Node[] split(Node node, Row key, boolean inclusive) {
+        if (node == null) {
+            return new Node[] { null, null };
+        }
+        int c = ORDER.compare(node.row, key);
+        if (c < 0 || (inclusive && c == 0)) {
+            Node[] parts = split(node.right, key, inclusive);
+            node.right = parts[0];
+            update(node);
+            return new Node[] { node, parts[1] };
+        }
+        Node[] parts = split(node.left, key, inclusive);
+        node.left = parts[1];
+        update(node);
+        return new Node[] { parts[0], node };
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
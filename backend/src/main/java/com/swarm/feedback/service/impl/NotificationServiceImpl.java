@@ -0,0 +1,199 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.config.UserTopicSubscriptions;
+import com.swarm.feedback.event.NotificationBus;
+import com.swarm.feedback.event.NotificationEvent;
+import com.swarm.feedback.service.NotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalescing fan-out for per-user notifications. Events are published on the
+ * {@link NotificationBus}; every node receives them and keeps only those for
+ * users subscribed on one of its own sessions. Those only bump a counter in an
+ * in-memory map keyed by user; every {@code notifications.window-ms} each
+ * user with pending events gets a single frame, so a burst of feedback on one
+ * submission reaches its owner as "N new feedback" instead of N frames. The
+ * map is bounded by user count (and per-user submission count); events beyond
+ * either bound are dropped and counted.
+ */
+@Service
+public class NotificationServiceImpl implements NotificationService, SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationServiceImpl.class);
+
+    static final String NEW_FEEDBACK = "NEW_FEEDBACK";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private NotificationBus notificationBus;
+
+    @Autowired
+    private UserTopicSubscriptions subscriptions;
+
+    @Value("${notifications.window-ms:1000}")
+    private long windowMs;
+
+    @Value("${notifications.max-pending-users:100000}")
+    private int maxPendingUsers;
+
+    @Value("${notifications.max-submissions-per-frame:50}")
+    private int maxSubmissionsPerFrame;
+
+    private final Map<String, PendingFrame> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    private volatile boolean running;
+
+    private Counter coalescedCounter;
+
+    private Counter sentCounter;
+
+    private Counter droppedCounter;
+
+    /** Guarded by the map's per-key locking (compute / remove). */
+    private static final class PendingFrame {
+        final Map<String, Integer> perSubmission = new LinkedHashMap<>();
+        int total;
+    }
+
+    @PostConstruct
+    void init() {
+        notificationBus.subscribe(this::deliver);
+    }
+
+    @Override
+    public void notifyNewFeedback(String ownerUserId, String submissionId) {
+        notificationBus.publish(new NotificationEvent(NEW_FEEDBACK, ownerUserId, submissionId));
+    }
+
+    void deliver(NotificationEvent event) {
+        if (!NEW_FEEDBACK.equals(event.getType()) || !subscriptions.hasLocalSubscriber(event.getUserId())) {
+            return;
+        }
+        enqueue(event.getUserId(), event.getSubmissionId());
+    }
+
+    private void enqueue(String ownerUserId, String submissionId) {
+        if (!pending.containsKey(ownerUserId) && pending.size() >= maxPendingUsers) {
+            dropped();
+            return;
+        }
+        pending.compute(ownerUserId, (userId, frame) -> {
+            if (frame == null) {
+                frame = new PendingFrame();
+            }
+            if (frame.perSubmission.containsKey(submissionId) || frame.perSubmission.size() < maxSubmissionsPerFrame) {
+                frame.perSubmission.merge(submissionId, 1, Integer::sum);
+            }
+            frame.total++;
+            return frame;
+        });
+        if (coalescedCounter != null) {
+            coalescedCounter.increment();
+        }
+    }
+
+    @Override
+    public int flush() {
+        int sent = 0;
+        for (String userId : pending.keySet()) {
+            PendingFrame frame = pending.remove(userId);
+            if (frame == null) {
+                continue;
+            }
+            messagingTemplate.convertAndSend("/topic/user/" + userId, toPayload(frame));
+            sent++;
+        }
+        if (sentCounter != null) {
+            sentCounter.increment(sent);
+        }
+        return sent;
+    }
+
+    private Map<String, Object> toPayload(PendingFrame frame) {
+        // submissionId keeps the single-event shape the client already understands
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", NEW_FEEDBACK);
+        payload.put("submissionId", frame.perSubmission.keySet().iterator().next());
+        payload.put("count", frame.total);
+        payload.put("submissions", frame.perSubmission);
+        return payload;
+    }
+
+    private void dropped() {
+        if (droppedCounter != null) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.warn("Failed to send coalesced notifications: {}", e.getMessage());
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void start() {
+        coalescedCounter = meterRegistry.counter("websocket.notifications.coalesced");
+        sentCounter = meterRegistry.counter("websocket.notifications.sent");
+        droppedCounter = Counter.builder("websocket.notifications.dropped")
+                .tag("reason", "overflow")
+                .register(meterRegistry);
+        Gauge.builder("websocket.notifications.pending", this, NotificationServiceImpl::getPendingCount)
+                .register(meterRegistry);
+        Gauge.builder("websocket.subscribed.users", subscriptions, UserTopicSubscriptions::getSubscribedUserCount)
+                .register(meterRegistry);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledFlush, windowMs, windowMs, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(windowMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduledFlush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
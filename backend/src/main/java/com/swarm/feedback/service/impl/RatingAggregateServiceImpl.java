@@ -0,0 +1,221 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.model.User;
+import com.swarm.feedback.service.RatingAggregateService;
+import com.swarm.feedback.service.RatingDelta;
+import com.swarm.feedback.service.RatingRebuildResult;
+import com.swarm.feedback.service.SubmissionService;
+import com.swarm.feedback.service.UserStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class RatingAggregateServiceImpl implements RatingAggregateService {
+    private static final Logger logger = LoggerFactory.getLogger(RatingAggregateServiceImpl.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    // Deltas share it; rebuild() takes it exclusively
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    @Override
+    public void applyChange(Feedback before, Feedback after) {
+        // Received aggregates only count APPROVED feedback; given stats count all
+        RatingDelta received = RatingDelta.between(approvedOrNull(before), approvedOrNull(after));
+        String submissionId = after != null ? after.getSubmissionId() : before.getSubmissionId();
+        applyDelta(submissionId, received);
+
+        String reviewerId = after != null ? after.getReviewerUserId() : before.getReviewerUserId();
+        userStatsService.recordGiven(reviewerId, RatingDelta.between(before, after));
+    }
+
+    @Override
+    public void applyDelta(String submissionId, RatingDelta delta) {
+        if (submissionId == null || delta.isEmpty()) {
+            return;
+        }
+
+        rebuildLock.readLock().lock();
+        try {
+            String ownerUserId = incrementSubmission(submissionId, delta);
+            if (ownerUserId == null) {
+                return;
+            }
+            incrementOwner(ownerUserId, delta);
+            userStatsService.recordReceived(ownerUserId, delta);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String applySubmissionDelta(String submissionId, RatingDelta delta) {
+        if (submissionId == null || delta.isEmpty()) {
+            return null;
+        }
+        rebuildLock.readLock().lock();
+        try {
+            return incrementSubmission(submissionId, delta);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void applyOwnerDelta(String ownerUserId, RatingDelta delta) {
+        if (ownerUserId == null || delta.isEmpty()) {
+            return;
+        }
+        rebuildLock.readLock().lock();
+        try {
+            incrementOwner(ownerUserId, delta);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private String incrementSubmission(String submissionId, RatingDelta delta) {
+        Query bySubmission = Query.query(Criteria.where("_id").is(submissionId));
+        bySubmission.fields().include("ownerUserId", "status");
+        Submission submission = mongoTemplate.findAndModify(bySubmission,
+                increment(delta.getSum(), delta.getCount(), "averageRating"),
+                FindAndModifyOptions.options().returnNew(true), Submission.class);
+        if (submission == null) {
+            return null;
+        }
+        submissionService.evictCached(submissionId, submission.getStatus());
+        return submission.getOwnerUserId();
+    }
+
+    private void incrementOwner(String ownerUserId, RatingDelta delta) {
+        if (delta.getSum() != 0 || delta.getCount() != 0) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(ownerUserId)),
+                    increment(delta.getSum(), delta.getCount(), "ratings"), User.class);
+        }
+    }
+
+    /**
+     * Holds off incremental deltas while it runs, so none can land between the
+     * aggregation and the writes and be overwritten. Each document gets its
+     * totals in one $set; only documents whose stored totals are no longer
+     * backed by any approved feedback are reset, instead of zeroing everything
+     * first. The lock is per node: a delta applied by another instance
+     * mid-rebuild can still be overwritten, which the next rebuild corrects.
+     * The user stats read model is rebuilt under the same lock.
+     */
+    @Override
+    public RatingRebuildResult rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            int submissions = rebuildTotals();
+            return new RatingRebuildResult(submissions, userStatsService.rebuild());
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private int rebuildTotals() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("status").is("APPROVED").and("rating").ne(null)),
+                Aggregation.group("submissionId").sum("rating").as("sum").count().as("count"));
+        List<org.bson.Document> totals = mongoTemplate
+                .aggregate(aggregation, Feedback.class, org.bson.Document.class)
+                .getMappedResults();
+
+        Set<String> rated = new HashSet<>();
+        Map<String, long[]> byOwner = new HashMap<>();
+        for (org.bson.Document total : totals) {
+            String submissionId = total.getString("_id");
+            if (submissionId == null) {
+                continue;
+            }
+            rated.add(submissionId);
+            long sum = ((Number) total.get("sum")).longValue();
+            int count = ((Number) total.get("count")).intValue();
+
+            Query bySubmission = Query.query(Criteria.where("_id").is(submissionId));
+            bySubmission.fields().include("ownerUserId", "status");
+            Submission submission = mongoTemplate.findAndModify(bySubmission,
+                    new Update().set("ratingSum", sum).set("ratingCount", count)
+                            .set("averageRating", (double) sum / count),
+                    Submission.class);
+            if (submission == null) {
+                continue;
+            }
+            submissionService.evictCached(submissionId, submission.getStatus());
+            if (submission.getOwnerUserId() != null) {
+                long[] owner = byOwner.computeIfAbsent(submission.getOwnerUserId(), k -> new long[2]);
+                owner[0] += sum;
+                owner[1] += count;
+            }
+        }
+
+        // Submissions that still carry totals without any approved feedback behind them
+        Query stale = Query.query(Criteria.where("ratingCount").ne(0).and("_id").nin(rated));
+        stale.fields().include("status");
+        for (Submission submission : mongoTemplate.find(stale, Submission.class)) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(submission.getId())),
+                    new Update().set("ratingSum", 0L).set("ratingCount", 0).unset("averageRating"),
+                    Submission.class);
+            submissionService.evictCached(submission.getId(), submission.getStatus());
+        }
+
+        byOwner.forEach((ownerId, total) -> mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(ownerId)),
+                new Update().set("ratingSum", total[0]).set("ratingCount", (int) total[1])
+                        .set("ratings", (double) total[0] / total[1]),
+                User.class));
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("ratingCount").ne(0).and("_id").nin(byOwner.keySet())),
+                new Update().set("ratingSum", 0L).set("ratingCount", 0).unset("ratings"), User.class);
+
+        logger.info("Rebuilt rating aggregates for {} submissions and {} users", totals.size(), byOwner.size());
+        return totals.size();
+    }
+
+    // Pipeline update: $inc the running sum/count and derive the average from the
+    // new values in the same atomic write.
+    private AggregationUpdate increment(long sumDelta, int countDelta, String averageField) {
+        return AggregationUpdate.update()
+                .set("ratingSum").toValue(ArithmeticOperators
+                        .valueOf(ConditionalOperators.ifNull("ratingSum").then(0)).add(sumDelta))
+                .set("ratingCount").toValue(ArithmeticOperators
+                        .valueOf(ConditionalOperators.ifNull("ratingCount").then(0)).add(countDelta))
+                .set(averageField).toValue(ConditionalOperators
+                        .when(ComparisonOperators.valueOf("ratingCount").greaterThanValue(0))
+                        .then(ArithmeticOperators.valueOf("ratingSum").divideBy("ratingCount"))
+                        .otherwise(0.0));
+    }
+
+    private static Feedback approvedOrNull(Feedback feedback) {
+        return feedback != null && "APPROVED".equals(feedback.getStatus()) ? feedback : null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.model.User;
+import com.swarm.feedback.service.LeaderboardService;
+import com.swarm.feedback.service.ReputationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ReputationServiceImpl implements ReputationService {
+    static final int POINTS_PER_REVIEW = 5;
+    static final int SILVER_THRESHOLD = 100;
+    static final int GOLD_THRESHOLD = 500;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Override
+    public void recordReviewsGiven(String reviewerId, int reviews) {
+        if (reviewerId == null || reviews <= 0) {
+            return;
+        }
+        Query query = byId(reviewerId);
+        query.fields().include("username", "points", "level", "profilePic");
+        User updated = mongoTemplate.findAndModify(query, reviewsGivenUpdate(reviews),
+                FindAndModifyOptions.options().returnNew(true), User.class);
+        leaderboardService.update(updated);
+    }
+
+    @Override
+    public void recordHelpfulVote(String reviewerId) {
+        if (reviewerId == null) {
+            return;
+        }
+        mongoTemplate.updateFirst(byId(reviewerId), new Update().inc("helpfulVotes", 1), User.class);
+    }
+
+    // Single pipeline update: increments are applied server-side and the level is
+    // derived from the incremented points in the same write, so concurrent
+    // reviews never lose counts and other profile fields are left untouched. The
+    // new points come back from the same call to reposition the leaderboard.
+    static AggregationUpdate reviewsGivenUpdate(int reviews) {
+        return AggregationUpdate.update()
+                .set("points").toValue(ArithmeticOperators
+                        .valueOf(ConditionalOperators.ifNull("points").then(0)).add(POINTS_PER_REVIEW * reviews))
+                .set("reviewsGiven").toValue(ArithmeticOperators
+                        .valueOf(ConditionalOperators.ifNull("reviewsGiven").then(0)).add(reviews))
+                .set("level").toValue(ConditionalOperators
+                        .when(ComparisonOperators.valueOf("points").greaterThanEqualToValue(GOLD_THRESHOLD))
+                        .then("Gold")
+                        .otherwiseValueOf(ConditionalOperators
+                                .when(ComparisonOperators.valueOf("points").greaterThanEqualToValue(SILVER_THRESHOLD))
+                                .then("Silver")
+                                .otherwise("Bronze")));
+    }
+
+    private static Query byId(String userId) {
+        return Query.query(Criteria.where("_id").is(userId));
+    }
+}
@@ -1,9 +1,21 @@
 package com.swarm.feedback.service.impl;
 
+import com.swarm.feedback.config.CacheConfig;
 import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.payload.response.PageResponse;
+import com.swarm.feedback.repository.KeysetPager;
 import com.swarm.feedback.repository.SubmissionRepository;
+import com.swarm.feedback.service.ApprovedFeedService;
 import com.swarm.feedback.service.SubmissionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,9 +27,23 @@ public class SubmissionServiceImpl implements SubmissionService {
     @Autowired
     private SubmissionRepository submissionRepository;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApprovedFeedService approvedFeedService;
+
     @Override
     public Submission createSubmission(Submission submission) {
-        return submissionRepository.save(java.util.Objects.requireNonNull(submission));
+        Submission saved = submissionRepository.save(java.util.Objects.requireNonNull(submission));
+        evictCached(saved.getId(), saved.getStatus());
+        return saved;
     }
 
     @Override
@@ -30,13 +56,79 @@ public class SubmissionServiceImpl implements SubmissionService {
         return submissionRepository.findByOwnerUserId(userId);
     }
 
+    // Cached instances are shared: callers must not mutate them, writes go
+    // through updateSubmissionStatus/createSubmission which evict precisely
     @Override
+    @Cacheable(cacheNames = CacheConfig.SUBMISSIONS, unless = "#result == null")
     public Optional<Submission> getSubmissionById(String id) {
         return submissionRepository.findById(java.util.Objects.requireNonNull(id));
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.SUBMISSIONS_BY_STATUS)
     public List<Submission> getSubmissionsByStatus(String status) {
         return submissionRepository.findByStatus(status);
     }
+
+    @Override
+    public Optional<Submission> updateSubmissionStatus(String id, String status, String rejectionReason) {
+        Update update = new Update().set("status", status);
+        if ("REJECTED".equals(status) && rejectionReason != null) {
+            update.set("rejectionReason", rejectionReason);
+        }
+        Submission before = mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(id)), update,
+                FindAndModifyOptions.options().returnNew(false), Submission.class);
+        if (before == null) {
+            return Optional.empty();
+        }
+        evictCached(id, before.getStatus());
+        evictCached(id, status);
+
+        before.setStatus(status);
+        if ("REJECTED".equals(status) && rejectionReason != null) {
+            before.setRejectionReason(rejectionReason);
+        }
+        return Optional.of(before);
+    }
+
+    @Override
+    public void evictCached(String id, String status) {
+        if (id != null) {
+            cache(CacheConfig.SUBMISSIONS).evict(id);
+        }
+        if (status != null) {
+            cache(CacheConfig.SUBMISSIONS_BY_STATUS).evict(status);
+        }
+        if ("APPROVED".equals(status)) {
+            approvedFeedService.invalidate();
+        }
+    }
+
+    @Override
+    public void evictAllCached() {
+        cache(CacheConfig.SUBMISSIONS).clear();
+        cache(CacheConfig.SUBMISSIONS_BY_STATUS).clear();
+        approvedFeedService.invalidate();
+    }
+
+    private Cache cache(String name) {
+        return java.util.Objects.requireNonNull(cacheManager.getCache(name), name);
+    }
+
+    @Override
+    public PageResponse<Submission> getSubmissionsPage(String cursor, int size) {
+        return keysetPager.page(null, cursor, size, Submission.class, Submission::getCreatedAt, Submission::getId);
+    }
+
+    @Override
+    public PageResponse<Submission> getSubmissionsByStatusPage(String status, String cursor, int size) {
+        return keysetPager.page(Criteria.where("status").is(status), cursor, size, Submission.class,
+                Submission::getCreatedAt, Submission::getId);
+    }
+
+    @Override
+    public PageResponse<Submission> getSubmissionsByUserIdPage(String userId, String cursor, int size) {
+        return keysetPager.page(Criteria.where("ownerUserId").is(userId), cursor, size, Submission.class,
+                Submission::getCreatedAt, Submission::getId);
+    }
 }
@@ -0,0 +1,276 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.service.FileStorageService;
+import com.swarm.feedback.service.ThumbnailService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thumbnails with plain JDK ImageIO. Every size for a source is rendered from a
+ * single decode, on a bounded pool: uploads queue the work and return, and a
+ * request for a missing thumbnail (an upload from before the pipeline) waits
+ * for it up to {@code thumbnails.on-demand-timeout-ms}. Concurrent requests for
+ * the same source share one job, and when the queue is full the work is simply
+ * skipped (the thumbnail is produced on demand later). Thumbnails live in the
+ * variant directory as {@code <name>.w<size>.jpg} (or {@code .png} when the
+ * source has transparency), so they are removed together with their blob.
+ */
+@Service
+public class ThumbnailServiceImpl implements ThumbnailService, DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(ThumbnailServiceImpl.class);
+
+    private static final Set<String> READABLE = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 0 -> one per CPU
+    @Value("${thumbnails.threads:0}")
+    private int threads;
+
+    @Value("${thumbnails.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${thumbnails.on-demand-timeout-ms:5000}")
+    private long onDemandTimeoutMs;
+
+    // Decompression-bomb guard: larger sources are not thumbnailed
+    @Value("${thumbnails.max-source-pixels:40000000}")
+    private long maxSourcePixels;
+
+    @Value("${thumbnails.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    private Counter generatedCounter;
+
+    private Counter failedCounter;
+
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnails-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "thumbnails");
+        generatedCounter = meterRegistry.counter("thumbnails.generated");
+        failedCounter = meterRegistry.counter("thumbnails.failed");
+        rejectedCounter = meterRegistry.counter("thumbnails.rejected");
+    }
+
+    @Override
+    public void generateAsync(String fileName) {
+        if (isReadableImage(fileName)) {
+            submit(fileName);
+        }
+    }
+
+    @Override
+    public Path thumbnail(String fileName, int size) throws IOException {
+        if (!SIZES.contains(size) || !isReadableImage(fileName)) {
+            return null;
+        }
+        Path existing = existingThumbnail(fileName, size);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            submit(fileName).get(onDemandTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+        return existingThumbnail(fileName, size);
+    }
+
+    private CompletableFuture<Void> submit(String fileName) {
+        CompletableFuture<Void> job = inFlight.computeIfAbsent(fileName, name -> {
+            try {
+                return CompletableFuture.runAsync(() -> render(name), executor);
+            } catch (RejectedExecutionException e) {
+                rejectedCounter.increment();
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+        job.whenComplete((ignored, error) -> inFlight.remove(fileName, job));
+        return job;
+    }
+
+    /** Decodes the source once and writes every missing size. */
+    void render(String fileName) {
+        Path source = fileStorageService.getUploadDir().resolve(fileName);
+        try {
+            BufferedImage image = read(source);
+            if (image == null) {
+                failedCounter.increment();
+                return;
+            }
+            for (int size : SIZES) {
+                if (existingThumbnail(fileName, size) == null) {
+                    write(scale(image, size), fileName, size);
+                    generatedCounter.increment();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            failedCounter.increment();
+            logger.warn("Could not create thumbnails for {}: {}", fileName, e.getMessage());
+        }
+    }
+
+    private BufferedImage read(Path source) throws IOException {
+        if (!Files.isRegularFile(source)) {
+            return null;
+        }
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxSourcePixels) {
+                    logger.warn("Skipping thumbnails for {}: {}x{} exceeds the pixel limit", source.getFileName(),
+                            reader.getWidth(0), reader.getHeight(0));
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales so the shorter side is {@code size} (clients crop with object-fit:
+     * cover), never upscaling. Halving steps before the final resize keep
+     * bilinear filtering from aliasing on large reductions.
+     */
+    static BufferedImage scale(BufferedImage source, int size) {
+        double factor = Math.min(1.0, (double) size / Math.min(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * factor));
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private void write(BufferedImage thumbnail, String fileName, int size) throws IOException {
+        boolean alpha = thumbnail.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpg";
+        Path variantDir = fileStorageService.getVariantDir();
+        Path temp = Files.createTempFile(variantDir, ".thumb-", ".part");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(output);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                if (!alpha) {
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(jpegQuality);
+                }
+                writer.write(null, new IIOImage(thumbnail, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, variantDir.resolve(thumbnailName(fileName, size, format)),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path existingThumbnail(String fileName, int size) {
+        for (String format : new String[] {"jpg", "png"}) {
+            Path candidate = fileStorageService.getVariantDir().resolve(thumbnailName(fileName, size, format));
+            if (Files.isRegularFile(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    static String thumbnailName(String fileName, int size, String format) {
+        return fileName + ".w" + size + "." + format;
+    }
+
+    private static boolean isReadableImage(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && READABLE.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
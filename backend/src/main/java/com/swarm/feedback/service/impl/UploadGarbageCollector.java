@@ -0,0 +1,259 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.model.Message;
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.model.UploadBlob;
+import com.swarm.feedback.model.User;
+import com.swarm.feedback.service.FileStorageService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Background mark-and-sweep for the content-addressed upload store. Each pass
+ * recounts references to {@code /uploads/<name>} from submissions, users and
+ * messages, records the counts in {@code upload_blobs}, and deletes files (and
+ * their variants) with no references once they are older than the grace period
+ * (which covers the gap between an upload and the save that references it;
+ * re-uploading the same content refreshes a blob's age). Before deleting, the
+ * age and references are checked again under {@link FileStorageService#blobLock},
+ * which deduplicating uploads also take. Recounting rather than maintaining
+ * counts on every write path means a missed decrement can never leak or lose a file.
+ */
+@Component
+public class UploadGarbageCollector implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(UploadGarbageCollector.class);
+
+    static final String URL_MARKER = "/uploads/";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${uploads.gc.interval-minutes:60}")
+    private long intervalMinutes;
+
+    @Value("${uploads.gc.grace-period-hours:24}")
+    private long gracePeriodHours;
+
+    private ScheduledExecutorService scheduler;
+
+    private volatile boolean running;
+
+    /** Reference counts by file name, across every collection that can point at an upload. */
+    Map<String, Integer> countReferences() {
+        Map<String, Integer> counts = new HashMap<>();
+        countField(counts, User.class, "profilePic");
+        countField(counts, Submission.class, "fileUrls");
+        countField(counts, Message.class, "mediaUrl");
+        return counts;
+    }
+
+    private void countField(Map<String, Integer> counts, Class<?> entity, String field) {
+        Query query = Query.query(Criteria.where(field).exists(true).ne(null));
+        query.fields().include(field);
+        String collection = mongoTemplate.getCollectionName(entity);
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+            documents.map(document -> document.get(field)).forEach(value -> {
+                if (value instanceof List<?> urls) {
+                    urls.forEach(url -> count(counts, url));
+                } else {
+                    count(counts, value);
+                }
+            });
+        }
+    }
+
+    private static void count(Map<String, Integer> counts, Object url) {
+        String fileName = fileName(url);
+        if (fileName != null) {
+            counts.merge(fileName, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * The upload a URL points at, or null for empty and external URLs. URLs
+     * built by ServletUriComponentsBuilder carry the name percent-encoded
+     * ({@code my%20report.pdf}), so the segment is decoded to the name on disk.
+     */
+    static String fileName(Object url) {
+        if (!(url instanceof String value)) {
+            return null;
+        }
+        int marker = value.lastIndexOf(URL_MARKER);
+        if (marker < 0) {
+            return null;
+        }
+        String name = value.substring(marker + URL_MARKER.length());
+        int query = name.indexOf('?');
+        if (query >= 0) {
+            name = name.substring(0, query);
+        }
+        try {
+            name = UriUtils.decode(name, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            // Not valid percent-encoding, so it was stored as the raw name
+        }
+        return name.isEmpty() || name.contains("/") ? null : name;
+    }
+
+    /** Runs one pass; returns the number of files deleted. */
+    public synchronized int collect() throws IOException {
+        Map<String, Integer> counts = countReferences();
+        Instant cutoff = Instant.now().minus(Duration.ofHours(gracePeriodHours));
+        LocalDateTime countedAt = LocalDateTime.now();
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(fileStorageService.getUploadDir())) {
+            files = listing.filter(Files::isRegularFile).toList();
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UploadBlob.class);
+        List<String> deletedNames = new ArrayList<>();
+        int counted = 0;
+        long freedBytes = 0;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            int refCount = counts.getOrDefault(name, 0);
+            long size = Files.size(file);
+            if (refCount == 0 && olderThan(file, cutoff)) {
+                Lock lock = fileStorageService.blobLock(name);
+                lock.lock();
+                try {
+                    // Re-check under the lock: a duplicate upload may just have refreshed the age,
+                    // or a reference may have been saved since the count
+                    if (olderThan(file, cutoff) && !isReferenced(name) && Files.deleteIfExists(file)) {
+                        deletedNames.add(name);
+                        freedBytes += size + deleteVariants(name);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                continue;
+            }
+            if (!name.endsWith(FileStorageServiceImpl.PART_SUFFIX)) {
+                bulk.upsert(Query.query(Criteria.where("_id").is(name)),
+                        Update.update("refCount", refCount).set("size", size).set("countedAt", countedAt));
+                counted++;
+            }
+        }
+        if (counted > 0) {
+            bulk.execute();
+        }
+        if (!deletedNames.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(deletedNames)), UploadBlob.class);
+            logger.info("Upload GC removed {} unreferenced files ({} bytes)", deletedNames.size(), freedBytes);
+        }
+        meterRegistry.counter("uploads.gc.deleted").increment(deletedNames.size());
+        meterRegistry.counter("uploads.gc.freed.bytes").increment(freedBytes);
+        return deletedNames.size();
+    }
+
+    private static boolean olderThan(Path file, Instant cutoff) throws IOException {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether anything references {@code name} now; only asked for files about
+     * to be deleted. These unanchored regex lookups are deliberate collection
+     * scans (the URLs may be absolute, so no index prefix applies); they run once
+     * per deletion candidate, which is why they are not in IndexPlan.
+     */
+    boolean isReferenced(String name) {
+        // Same match as fileName(url): the URL ends in /uploads/<name>, raw or percent-encoded,
+        // optionally with a query
+        String url = "(" + Pattern.quote(URL_MARKER + name) + "|"
+                + Pattern.quote(URL_MARKER + UriUtils.encodePath(name, StandardCharsets.UTF_8)) + ")(\\?.*)?$";
+        return mongoTemplate.exists(Query.query(Criteria.where("profilePic").regex(url)), User.class)
+                || mongoTemplate.exists(Query.query(Criteria.where("fileUrls").regex(url)), Submission.class)
+                || mongoTemplate.exists(Query.query(Criteria.where("mediaUrl").regex(url)), Message.class);
+    }
+
+    /** Deletes the derived files of a blob ({@code <name>.*} in the variant directory). */
+    private long deleteVariants(String name) throws IOException {
+        Path variantDir = fileStorageService.getVariantDir();
+        if (variantDir == null || !Files.isDirectory(variantDir)) {
+            return 0;
+        }
+        long freed = 0;
+        try (Stream<Path> variants = Files.list(variantDir)) {
+            for (Path variant : variants.filter(path -> path.getFileName().toString().startsWith(name + ".")).toList()) {
+                long size = Files.size(variant);
+                if (Files.deleteIfExists(variant)) {
+                    freed += size;
+                }
+            }
+        }
+        return freed;
+    }
+
+    private void scheduledCollect() {
+        try {
+            collect();
+        } catch (Exception e) {
+            logger.warn("Upload GC pass failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "upload-gc");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledCollect, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,140 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.model.UserStats;
+import com.swarm.feedback.repository.UserStatsRepository;
+import com.swarm.feedback.service.RatingDelta;
+import com.swarm.feedback.service.UserStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Service
+public class UserStatsServiceImpl implements UserStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(UserStatsServiceImpl.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    // Increments share it; rebuild() takes it exclusively
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    @Override
+    public void recordGiven(String userId, RatingDelta delta) {
+        increment(userId, "given", delta);
+    }
+
+    @Override
+    public void recordReceived(String userId, RatingDelta delta) {
+        increment(userId, "received", delta);
+    }
+
+    @Override
+    public Optional<UserStats> getStats(String userId) {
+        return userStatsRepository.findById(java.util.Objects.requireNonNull(userId));
+    }
+
+    // Upsert with $inc only, so concurrent writers never overwrite each other
+    private void increment(String userId, String prefix, RatingDelta delta) {
+        if (userId == null || "anonymous".equals(userId) || delta == null || delta.isEmpty()) {
+            return;
+        }
+        Update update = new Update()
+                .inc(prefix + "Count", delta.getCount())
+                .inc(prefix + "Sum", delta.getSum())
+                .set("updatedAt", LocalDateTime.now());
+        delta.getDimensionSums().forEach((dimension, sum) -> update.inc(prefix + "DimensionSums." + dimension, sum));
+        delta.getDimensionCounts()
+                .forEach((dimension, count) -> update.inc(prefix + "DimensionCounts." + dimension, count));
+        rebuildLock.readLock().lock();
+        try {
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(userId)), update, UserStats.class);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Holds off increments while it runs, so none can land between the scan
+     * and the writes and be overwritten. Each user's totals are written with
+     * one $set upsert, and only documents of users with no feedback left are
+     * removed, so readers never see a wiped collection.
+     */
+    @Override
+    public int rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            return rebuildTotals();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private int rebuildTotals() {
+        Map<String, String> ownerBySubmission = new HashMap<>();
+        Query submissions = new Query();
+        submissions.fields().include("ownerUserId");
+        try (Stream<Submission> rows = mongoTemplate.stream(submissions, Submission.class)) {
+            rows.forEach(s -> {
+                if (s.getOwnerUserId() != null) {
+                    ownerBySubmission.put(s.getId(), s.getOwnerUserId());
+                }
+            });
+        }
+
+        Map<String, RatingDelta> given = new HashMap<>();
+        Map<String, RatingDelta> received = new HashMap<>();
+        Query feedback = new Query();
+        feedback.fields().include("submissionId", "reviewerUserId", "rating", "dimensionRatings", "status");
+        try (Stream<Feedback> rows = mongoTemplate.stream(feedback, Feedback.class)) {
+            rows.forEach(f -> {
+                if (f.getReviewerUserId() != null && !"anonymous".equals(f.getReviewerUserId())) {
+                    given.computeIfAbsent(f.getReviewerUserId(), k -> new RatingDelta()).add(f, 1);
+                }
+                String owner = ownerBySubmission.get(f.getSubmissionId());
+                if (owner != null && "APPROVED".equals(f.getStatus())) {
+                    received.computeIfAbsent(owner, k -> new RatingDelta()).add(f, 1);
+                }
+            });
+        }
+
+        Set<String> users = new HashSet<>(given.keySet());
+        users.addAll(received.keySet());
+        LocalDateTime now = LocalDateTime.now();
+        for (String userId : users) {
+            Update update = new Update().set("updatedAt", now);
+            setTotals(update, "given", given.getOrDefault(userId, new RatingDelta()));
+            setTotals(update, "received", received.getOrDefault(userId, new RatingDelta()));
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(userId)), update, UserStats.class);
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("_id").nin(users)), UserStats.class);
+
+        logger.info("Rebuilt user stats for {} users", users.size());
+        return users.size();
+    }
+
+    private static void setTotals(Update update, String prefix, RatingDelta total) {
+        update.set(prefix + "Count", total.getCount())
+                .set(prefix + "Sum", total.getSum())
+                .set(prefix + "DimensionSums", total.getDimensionSums())
+                .set(prefix + "DimensionCounts", total.getDimensionCounts());
+    }
+}
@@ -0,0 +1,105 @@
+package com.swarm.feedback.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundMessageBackpressureTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final List<SimpMessageType> delivered = new CopyOnWriteArrayList<>();
+
+    private ThreadPoolTaskExecutor executor;
+
+    private ExecutorSubscribableChannel channel;
+
+    private Counter dropped;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(4);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        dropped = new SimpleMeterRegistry().counter("websocket.outbound.dropped");
+
+        channel = new ExecutorSubscribableChannel(executor);
+        channel.addInterceptor(new OutboundMessageBackpressure(executor, 4, 2, dropped));
+        channel.subscribe(message -> {
+            if (Thread.currentThread().getName().startsWith(executor.getThreadNamePrefix())) {
+                await(release);
+            }
+            delivered.add(SimpMessageHeaderAccessor.getMessageType(message.getHeaders()));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void shedsNotificationsButNotProtocolFramesWhenTheQueueIsNearlyFull() throws Exception {
+        // One frame occupies the only thread, two more fill the queue up to the reserve
+        for (int i = 0; i < 3; i++) {
+            assertTrue(channel.send(frame(SimpMessageType.MESSAGE)));
+        }
+        waitForQueueSize(2);
+
+        assertFalse(channel.send(frame(SimpMessageType.MESSAGE)));
+        for (int i = 0; i < 3; i++) {
+            // Two fit in the reserve; the third finds the queue full and runs on this thread
+            assertTrue(channel.send(frame(SimpMessageType.CONNECT_ACK)));
+        }
+
+        assertEquals(1.0, dropped.count());
+        assertEquals(List.of(SimpMessageType.CONNECT_ACK), delivered);
+        release.countDown();
+        executor.getThreadPoolExecutor().shutdown();
+        assertTrue(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(6, delivered.size());
+        assertEquals(3, delivered.stream().filter(SimpMessageType.CONNECT_ACK::equals).count());
+    }
+
+    private void waitForQueueSize(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getQueueSize() != size && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(size, executor.getQueueSize());
+    }
+
+    private static Message<byte[]> frame(SimpMessageType type) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId("session");
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
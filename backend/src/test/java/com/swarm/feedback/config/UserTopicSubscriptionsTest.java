@@ -0,0 +1,49 @@
+package com.swarm.feedback.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserTopicSubscriptionsTest {
+
+    private final UserTopicSubscriptions subscriptions = new UserTopicSubscriptions();
+
+    @Test
+    void tracksUserTopicSubscriptionsPerSession() {
+        subscriptions.onSubscribe(new SessionSubscribeEvent(this, frame(StompCommand.SUBSCRIBE, "a", "sub-0", "/topic/user/u1")));
+        subscriptions.onSubscribe(new SessionSubscribeEvent(this, frame(StompCommand.SUBSCRIBE, "b", "sub-0", "/topic/user/u1")));
+        subscriptions.onSubscribe(new SessionSubscribeEvent(this, frame(StompCommand.SUBSCRIBE, "b", "sub-1", "/topic/other")));
+
+        assertTrue(subscriptions.hasLocalSubscriber("u1"));
+        assertEquals(1, subscriptions.getSubscribedUserCount());
+
+        subscriptions.onUnsubscribe(new SessionUnsubscribeEvent(this, frame(StompCommand.UNSUBSCRIBE, "a", "sub-0", null)));
+        assertTrue(subscriptions.hasLocalSubscriber("u1"));
+
+        subscriptions.onDisconnect(new SessionDisconnectEvent(this, frame(StompCommand.DISCONNECT, "b", null, null),
+                "b", CloseStatus.NORMAL));
+        assertFalse(subscriptions.hasLocalSubscriber("u1"));
+        assertEquals(0, subscriptions.getSubscribedUserCount());
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String sessionId, String subscriptionId,
+                                         String destination) {
+        StompHeaderAccessor headers = StompHeaderAccessor.create(command);
+        headers.setSessionId(sessionId);
+        if (subscriptionId != null) {
+            headers.setSubscriptionId(subscriptionId);
+        }
+        if (destination != null) {
+            headers.setDestination(destination);
+        }
+        return MessageBuilder.createMessage(new byte[0], headers.getMessageHeaders());
+    }
+}
@@ -0,0 +1,188 @@
+package com.swarm.feedback.controller;
+
+import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.payload.response.FeedbackAdminResponse;
+import com.swarm.feedback.repository.KeysetPager;
+import com.swarm.feedback.repository.SubmissionRepository;
+import com.swarm.feedback.repository.UserRepository;
+import com.swarm.feedback.security.services.UserDetailsImpl;
+import com.swarm.feedback.service.ActivityLogService;
+import com.swarm.feedback.service.FeedbackService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedbackControllerTest {
+
+    @Mock
+    private FeedbackService feedbackService;
+
+    @Mock
+    private ActivityLogService activityLogService;
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private KeysetPager keysetPager;
+
+    @InjectMocks
+    private FeedbackController feedbackController;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void authenticate(String userId, String role) {
+        UserDetailsImpl principal = new UserDetailsImpl(userId, userId, userId + "@example.com", null,
+                List.of(new SimpleGrantedAuthority(role)));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Test
+    void statusUpdateTargetsSingleDocument() {
+        authenticate("admin1", "ROLE_ADMIN");
+        Feedback updated = new Feedback();
+        updated.setId("f1");
+        when(feedbackService.updateFeedbackStatus("f1", "APPROVED", null)).thenReturn(Optional.of(updated));
+
+        ResponseEntity<?> response = feedbackController.updateFeedbackStatus("f1", Map.of("status", "APPROVED"));
+
+        assertEquals(200, response.getStatusCode().value());
+        verify(feedbackService, never()).getAllFeedback();
+        verify(activityLogService).logActivity(eq("admin1"), eq("UPDATE_FEEDBACK_STATUS"), anyMap());
+    }
+
+    @Test
+    void replyChecksOwnershipWithoutScanning() {
+        authenticate("owner1", "ROLE_SUBMITTER");
+        Feedback feedback = new Feedback();
+        feedback.setId("f1");
+        feedback.setSubmissionId("s1");
+        Submission submission = new Submission();
+        submission.setId("s1");
+        submission.setOwnerUserId("owner1");
+        when(feedbackService.getFeedbackById("f1")).thenReturn(Optional.of(feedback));
+        when(submissionRepository.findById("s1")).thenReturn(Optional.of(submission));
+        when(feedbackService.replyToFeedback("f1", "thanks")).thenReturn(Optional.of(feedback));
+
+        ResponseEntity<?> response = feedbackController.replyToFeedback("f1", Map.of("reply", "thanks"));
+
+        assertEquals(200, response.getStatusCode().value());
+        verify(feedbackService, never()).getAllFeedback();
+        verify(activityLogService).logActivity(eq("owner1"), eq("REPLY_TO_FEEDBACK"), anyMap());
+    }
+
+    @Test
+    void replyByNonOwnerIsRejectedBeforeAnyWrite() {
+        authenticate("intruder", "ROLE_SUBMITTER");
+        Feedback feedback = new Feedback();
+        feedback.setId("f1");
+        feedback.setSubmissionId("s1");
+        Submission submission = new Submission();
+        submission.setId("s1");
+        submission.setOwnerUserId("owner1");
+        when(feedbackService.getFeedbackById("f1")).thenReturn(Optional.of(feedback));
+        when(submissionRepository.findById("s1")).thenReturn(Optional.of(submission));
+
+        ResponseEntity<?> response = feedbackController.replyToFeedback("f1", Map.of("reply", "thanks"));
+
+        assertEquals(403, response.getStatusCode().value());
+        verify(feedbackService, never()).replyToFeedback(anyString(), anyString());
+        verify(feedbackService, never()).getAllFeedback();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 10, 100, 1000 })
+    void adminListingRoundTripsStayConstant(int rows) {
+        List<Feedback> feedbacks = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Feedback feedback = new Feedback();
+            feedback.setId("f" + i);
+            feedback.setReviewerUserId("u" + (i % 50));
+            feedback.setSubmissionId("s" + (i % 200));
+            feedbacks.add(feedback);
+        }
+        when(keysetPager.isUnpaged(true)).thenReturn(true);
+        when(feedbackService.getAllFeedback()).thenReturn(feedbacks);
+        when(userRepository.findByIdIn(anyCollection())).thenAnswer(inv -> {
+            Collection<String> ids = inv.getArgument(0);
+            return ids.stream().map(id -> new UserRepository.UsernameView() {
+                public String getId() {
+                    return id;
+                }
+
+                public String getUsername() {
+                    return "name-" + id;
+                }
+            }).collect(Collectors.toList());
+        });
+        when(submissionRepository.findByIdIn(anyCollection())).thenAnswer(inv -> {
+            Collection<String> ids = inv.getArgument(0);
+            return ids.stream().map(id -> new SubmissionRepository.TitleView() {
+                public String getId() {
+                    return id;
+                }
+
+                public String getTitle() {
+                    return "title-" + id;
+                }
+            }).collect(Collectors.toList());
+        });
+
+        @SuppressWarnings("unchecked")
+        List<FeedbackAdminResponse> body = (List<FeedbackAdminResponse>) feedbackController
+                .getAllFeedback(null, null, true).getBody();
+
+        assertEquals(rows, body.size());
+        assertEquals("name-u7", body.get(7).getReviewerUsername());
+        assertEquals("title-s7", body.get(7).getSubmissionTitle());
+        // 1 feedback query + 1 user batch + 1 submission batch, independent of rows
+        verify(feedbackService, times(1)).getAllFeedback();
+        verify(userRepository, times(1)).findByIdIn(anyCollection());
+        verify(submissionRepository, times(1)).findByIdIn(anyCollection());
+        verify(userRepository, never()).findById(anyString());
+        verify(submissionRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void helpfulVoteOnFeedbackWithoutSubmissionIsNotFound() {
+        authenticate("owner1", "ROLE_SUBMITTER");
+        Feedback orphan = new Feedback();
+        orphan.setId("f1");
+        when(feedbackService.getFeedbackById("f1")).thenReturn(Optional.of(orphan));
+
+        ResponseEntity<?> response = feedbackController.markFeedbackHelpful("f1");
+
+        assertEquals(404, response.getStatusCode().value());
+        verifyNoInteractions(submissionRepository);
+        verify(feedbackService, never()).markHelpful(any());
+    }
+}
@@ -0,0 +1,194 @@
+package com.swarm.feedback.controller;
+
+import com.swarm.feedback.service.FileStorageService;
+import com.swarm.feedback.service.ThumbnailService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadControllerTest {
+
+    private static final String DIGEST = "a".repeat(64);
+
+    @TempDir
+    Path uploadDir;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private ThumbnailService thumbnailService;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry;
+
+    @InjectMocks
+    private UploadController uploadController;
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(uploadController, "immutableMaxAgeDays", 365L);
+        lenient().when(fileStorageService.getUploadDir()).thenReturn(uploadDir);
+        Files.write(uploadDir.resolve(DIGEST + ".mp4"), new byte[1000]);
+    }
+
+    @Test
+    void contentAddressedFileIsHandedToSendfileWithImmutableCaching() throws Exception {
+        MockHttpServletRequest request = sendfileRequest();
+
+        assertNull(uploadController.serve(DIGEST + ".mp4", request, response));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("\"" + DIGEST + "\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals("max-age=31536000, public, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("video/mp4", response.getHeader(HttpHeaders.CONTENT_TYPE));
+        assertEquals(1000, response.getContentLengthLong());
+        assertEquals(uploadDir.resolve(DIGEST + ".mp4").toString(),
+                request.getAttribute(UploadController.SENDFILE_FILENAME));
+        assertEquals(0L, request.getAttribute(UploadController.SENDFILE_START));
+        assertEquals(1000L, request.getAttribute(UploadController.SENDFILE_END));
+    }
+
+    @Test
+    void singleRangeIsServedAsPartialContent() throws Exception {
+        MockHttpServletRequest request = sendfileRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-");
+
+        assertNull(uploadController.serve(DIGEST + ".mp4", request, response));
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 100-999/1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(900, response.getContentLengthLong());
+        assertEquals(100L, request.getAttribute(UploadController.SENDFILE_START));
+
+        MockHttpServletRequest beyond = sendfileRequest();
+        beyond.addHeader(HttpHeaders.RANGE, "bytes=5000-");
+        ResponseEntity<?> unsatisfiable = uploadController.serve(DIGEST + ".mp4", beyond, new MockHttpServletResponse());
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, unsatisfiable.getStatusCode());
+        assertEquals("bytes */1000", unsatisfiable.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void matchingEtagIsNotModified() throws Exception {
+        MockHttpServletRequest request = sendfileRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", \"" + DIGEST + "\"");
+
+        ResponseEntity<?> result = uploadController.serve(DIGEST + ".mp4", request, response);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        assertNull(request.getAttribute(UploadController.SENDFILE_FILENAME));
+    }
+
+    @Test
+    void legacyNamesAreRevalidatedAndStreamedWithoutSendfile() throws Exception {
+        Files.writeString(uploadDir.resolve("u1_123_avatar.png"), "png");
+
+        ResponseEntity<?> result = uploadController.serve("u1_123_avatar.png", new MockHttpServletRequest(), response);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("no-cache", result.getHeaders().getCacheControl());
+        assertInstanceOf(FileSystemResource.class, result.getBody());
+    }
+
+    @Test
+    void legacyNamesWithSpacesAndParenthesesAreServedWithTheirThumbnails() throws Exception {
+        String screenshot = "Screenshot 2024-01-01 at 10.00.00.png";
+        Files.writeString(uploadDir.resolve(screenshot), "png");
+        Files.writeString(uploadDir.resolve("u1_123_photo (1).jpg"), "jpg");
+        when(thumbnailService.thumbnail(screenshot, 80)).thenReturn(null);
+
+        ResponseEntity<?> original = uploadController.serve(screenshot, new MockHttpServletRequest(), response);
+        ResponseEntity<?> other = uploadController.serve("u1_123_photo (1).jpg", new MockHttpServletRequest(),
+                new MockHttpServletResponse());
+        ResponseEntity<?> thumbnail = uploadController.serveThumbnail(80, screenshot, new MockHttpServletRequest(),
+                new MockHttpServletResponse());
+
+        assertEquals(HttpStatus.OK, original.getStatusCode());
+        assertEquals(HttpStatus.OK, other.getStatusCode());
+        assertEquals(HttpStatus.FOUND, thumbnail.getStatusCode());
+        assertEquals("http://localhost/uploads/Screenshot%202024-01-01%20at%2010.00.00.png",
+                thumbnail.getHeaders().getLocation().toString());
+    }
+
+    @Test
+    void hiddenPartialMissingAndOutsideFilesAreNotFound() throws Exception {
+        Files.writeString(uploadDir.resolve(".upload-1.part"), "partial");
+        Files.writeString(uploadDir.resolve("upload-2.part"), "partial");
+        Files.createDirectories(uploadDir.resolve("nested"));
+        Files.writeString(uploadDir.resolve("nested").resolve("inner.png"), "png");
+        String outside = "outside-" + uploadDir.getFileName() + ".png";
+        Path outsideFile = Files.writeString(uploadDir.getParent().resolve(outside), "png");
+        try {
+            for (String name : new String[] {".upload-1.part", "upload-2.part", "missing.png", "nested",
+                    "nested/inner.png", "..", "../" + outside, "..\\" + outside}) {
+                assertEquals(HttpStatus.NOT_FOUND, uploadController.serve(name, sendfileRequest(),
+                        new MockHttpServletResponse()).getStatusCode(), name);
+            }
+        } finally {
+            Files.deleteIfExists(outsideFile);
+        }
+    }
+
+    @Test
+    void compressibleFilesGetAGzipVariant() throws Exception {
+        Path variants = Files.createDirectories(uploadDir.resolve(".variants"));
+        when(fileStorageService.getVariantDir()).thenReturn(variants);
+        Files.writeString(uploadDir.resolve(DIGEST + ".svg"), "<svg>" + " ".repeat(5000) + "</svg>");
+        MockHttpServletRequest request = sendfileRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, br");
+
+        uploadController.serve(DIGEST + ".svg", request, response);
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"" + DIGEST + "-gz\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(variants.resolve(DIGEST + ".svg.gz").toString(),
+                request.getAttribute(UploadController.SENDFILE_FILENAME));
+        assertTrue(response.getContentLengthLong() < 5000);
+    }
+
+    @Test
+    void thumbnailsAreServedImmutableOrFallBackToTheOriginal() throws Exception {
+        Files.write(uploadDir.resolve(DIGEST + ".jpg"), new byte[500]);
+        Path thumbnail = Files.write(uploadDir.resolve("thumb.jpg"), new byte[50]);
+        when(thumbnailService.thumbnail(DIGEST + ".jpg", 80)).thenReturn(thumbnail);
+        MockHttpServletRequest request = sendfileRequest();
+
+        assertNull(uploadController.serveThumbnail(80, DIGEST + ".jpg", request, response));
+        assertEquals("\"" + DIGEST + "-w80\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals("image/jpeg", response.getHeader(HttpHeaders.CONTENT_TYPE));
+        assertEquals(thumbnail.toString(), request.getAttribute(UploadController.SENDFILE_FILENAME));
+
+        ResponseEntity<?> fallback = uploadController.serveThumbnail(80, DIGEST + ".mp4", sendfileRequest(),
+                new MockHttpServletResponse());
+        assertEquals(HttpStatus.FOUND, fallback.getStatusCode());
+        assertEquals("http://localhost/uploads/" + DIGEST + ".mp4", fallback.getHeaders().getLocation().toString());
+    }
+
+    private static MockHttpServletRequest sendfileRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/file");
+        request.setAttribute(UploadController.SENDFILE_SUPPORT, Boolean.TRUE);
+        return request;
+    }
+}
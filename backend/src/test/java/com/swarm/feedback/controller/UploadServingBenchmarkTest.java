@@ -0,0 +1,151 @@
+package com.swarm.feedback.controller;
+
+import com.swarm.feedback.service.FileStorageService;
+import com.swarm.feedback.service.ThumbnailService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRegistration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Many concurrent small-image requests against UploadController and against the
+ * generic resource handler it replaced, on a real embedded Tomcat (sendfile
+ * needs the container). Run with
+ * {@code mvn test -Dtest=UploadServingBenchmarkTest -Dupload.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "upload.benchmark", matches = "true")
+class UploadServingBenchmarkTest {
+
+    private static final int FILES = 200;
+    private static final int CONCURRENCY = Integer.getInteger("upload.benchmark.concurrency", 64);
+    private static final int REQUESTS = Integer.getInteger("upload.benchmark.requests", 40000);
+
+    static Path uploadDir;
+
+    @TempDir
+    Path tempDir;
+
+    @Configuration
+    @EnableWebMvc
+    static class ServingConfig implements WebMvcConfigurer {
+        @Bean
+        FileStorageService fileStorageService() {
+            FileStorageService storage = Mockito.mock(FileStorageService.class);
+            Mockito.when(storage.getUploadDir()).thenReturn(uploadDir);
+            return storage;
+        }
+
+        @Bean
+        ThumbnailService thumbnailService() {
+            return Mockito.mock(ThumbnailService.class);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        UploadController uploadController() {
+            return new UploadController();
+        }
+
+        @Override
+        public void addResourceHandlers(ResourceHandlerRegistry registry) {
+            // The previous WebConfig mapping, moved aside for comparison
+            registry.addResourceHandler("/legacy/**").addResourceLocations(uploadDir.toUri().toString());
+        }
+    }
+
+    @Test
+    void compareWithResourceHandler() throws Exception {
+        uploadDir = tempDir;
+        List<String> names = new ArrayList<>();
+        Random random = new Random(1);
+        for (int i = 0; i < FILES; i++) {
+            byte[] image = new byte[4096 + random.nextInt(28 * 1024)];
+            random.nextBytes(image);
+            String name = HexFormat.of().formatHex(java.security.MessageDigest.getInstance("SHA-256").digest(image))
+                    + ".jpg";
+            Files.write(uploadDir.resolve(name), image);
+            names.add(name);
+        }
+
+        AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+        context.register(ServingConfig.class);
+        WebServer server = new TomcatServletWebServerFactory(0).getWebServer(servletContext -> {
+            ServletRegistration.Dynamic dispatcher = servletContext.addServlet("dispatcher", new DispatcherServlet(context));
+            dispatcher.addMapping("/");
+            dispatcher.setLoadOnStartup(1);
+        });
+        server.start();
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            String base = "http://localhost:" + server.getPort();
+            run(client, clients, base + "/legacy/", names, REQUESTS / 4);
+            run(client, clients, base + "/uploads/", names, REQUESTS / 4);
+            double legacy = run(client, clients, base + "/legacy/", names, REQUESTS);
+            double current = run(client, clients, base + "/uploads/", names, REQUESTS);
+            double sendfile = context.getBean(MeterRegistry.class).counter("uploads.served", "mode", "sendfile").count();
+            System.out.printf("%d x 4-32 KB images, %d concurrent: resource handler %.0f req/s, "
+                    + "UploadController %.0f req/s (%.0f via sendfile)%n", REQUESTS, CONCURRENCY, legacy, current, sendfile);
+        } finally {
+            clients.shutdown();
+            server.stop();
+            context.close();
+        }
+    }
+
+    private static double run(HttpClient client, ExecutorService clients, String prefix, List<String> names,
+                              int requests) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        long start = System.nanoTime();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            workers.add(clients.submit(() -> {
+                int n;
+                while ((n = next.getAndIncrement()) < requests) {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(prefix + names.get(n % names.size())))
+                            .build();
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    assertEquals(200, response.statusCode());
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        return requests / ((System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,113 @@
+package com.swarm.feedback.event;
+
+import com.mongodb.CursorType;
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CappedCollectionNotificationBusTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoConverter converter;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private FindIterable<Document> find;
+
+    @Mock
+    private MongoCursor<Document> deadCursor;
+
+    @Mock
+    private MongoCursor<Document> liveCursor;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry;
+
+    @InjectMocks
+    private CappedCollectionNotificationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bus, "awaitMs", 10L);
+        ReflectionTestUtils.setField(bus, "retryBackoffMs", 1L);
+        ReflectionTestUtils.setField(bus, "receivedCounter", meterRegistry.counter("notifications.bus.received"));
+        ReflectionTestUtils.setField(bus, "running", true);
+        when(mongoTemplate.getCollection(CappedCollectionNotificationBus.COLLECTION)).thenReturn(collection);
+        when(collection.find(any(Bson.class))).thenReturn(find);
+        when(find.cursorType(CursorType.TailableAwait)).thenReturn(find);
+        when(find.maxAwaitTime(anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(find);
+    }
+
+    @Test
+    void reopensACursorTheServerClosedWithoutAnError() {
+        // What the driver returns for a tailable cursor on the still-empty collection
+        when(deadCursor.tryNext()).thenReturn(null);
+        when(deadCursor.getServerCursor()).thenReturn(null);
+        Document document = new Document("_id", new ObjectId()).append("userId", "u1");
+        when(liveCursor.tryNext()).thenReturn(document);
+        when(find.iterator()).thenReturn(deadCursor, liveCursor);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(converter.read(NotificationEvent.class, document))
+                .thenReturn(new NotificationEvent("submission", "u1", "s1"));
+
+        List<NotificationEvent> received = new ArrayList<>();
+        bus.subscribe(event -> {
+            received.add(event);
+            ReflectionTestUtils.setField(bus, "running", false);
+        });
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), bus::tail);
+
+        assertEquals(List.of(new NotificationEvent("submission", "u1", "s1")), received);
+        verify(deadCursor).close();
+        verify(collection, times(2)).find(any(Bson.class));
+    }
+
+    @Test
+    void keepsWaitingOnALiveCursorThatHasNothingYet() {
+        Document document = new Document("_id", new ObjectId()).append("userId", "u2");
+        when(liveCursor.tryNext()).thenReturn(null, null, document);
+        when(liveCursor.getServerCursor()).thenReturn(new ServerCursor(1L, new ServerAddress()));
+        when(find.iterator()).thenReturn(liveCursor);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(converter.read(NotificationEvent.class, document))
+                .thenReturn(new NotificationEvent("submission", "u2", "s2"));
+        bus.subscribe(event -> ReflectionTestUtils.setField(bus, "running", false));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), bus::tail);
+
+        verify(collection).find(any(Bson.class));
+        assertEquals(1.0, meterRegistry.counter("notifications.bus.received").count());
+    }
+}
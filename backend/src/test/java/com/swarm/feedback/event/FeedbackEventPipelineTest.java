@@ -0,0 +1,138 @@
+package com.swarm.feedback.event;
+
+import com.swarm.feedback.model.Feedback;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedbackEventPipelineTest {
+
+    private static FeedbackCreatedEvent event(String id) {
+        Feedback feedback = new Feedback();
+        feedback.setId(id);
+        feedback.setReviewerUserId("reviewer");
+        return new FeedbackCreatedEvent(feedback);
+    }
+
+    private static FeedbackEventPipeline pipeline(List<FeedbackEventStage> stages, int capacity,
+            SimpleMeterRegistry registry) {
+        FeedbackEventPipeline pipeline = new FeedbackEventPipeline();
+        ReflectionTestUtils.setField(pipeline, "stages", stages);
+        ReflectionTestUtils.setField(pipeline, "meterRegistry", registry);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", capacity);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 50);
+        ReflectionTestUtils.setField(pipeline, "maxAttempts", 3);
+        ReflectionTestUtils.setField(pipeline, "retryBackoffMs", 1L);
+        ReflectionTestUtils.setField(pipeline, "shutdownTimeoutMs", 5000L);
+        return pipeline;
+    }
+
+    private static FeedbackEventStage stage(String name, java.util.function.Consumer<List<FeedbackCreatedEvent>> body) {
+        return new FeedbackEventStage() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void handle(List<FeedbackCreatedEvent> batch) {
+                body.accept(batch);
+            }
+        };
+    }
+
+    @Test
+    void drainsEveryEventInBatchesOnShutdown() {
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger seen = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        FeedbackEventStage slow = stage("slow", batch -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batchSizes.add(batch.size());
+            seen.addAndGet(batch.size());
+        });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FeedbackEventPipeline pipeline = pipeline(List.of(slow), 1000, registry);
+        pipeline.start();
+
+        for (int i = 0; i < 500; i++) {
+            pipeline.publish(event("f" + i));
+        }
+        assertTrue(registry.get("feedback.events.queue.depth").gauge().value() > 0);
+
+        release.countDown();
+        pipeline.stop();
+
+        assertEquals(500, seen.get());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 50));
+        assertTrue(batchSizes.size() < 500, "events should be processed in batches");
+        assertEquals(0, pipeline.getQueueDepth());
+    }
+
+    @Test
+    void retriesFailingStageAndContinuesWithLaterStages() {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger later = new AtomicInteger();
+        FeedbackEventStage flaky = stage("flaky", batch -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("transient");
+            }
+        });
+        FeedbackEventStage broken = stage("broken", batch -> {
+            throw new IllegalStateException("permanent");
+        });
+        FeedbackEventStage last = stage("last", batch -> later.addAndGet(batch.size()));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FeedbackEventPipeline pipeline = pipeline(List.of(flaky, broken, last), 10, registry);
+        pipeline.start();
+
+        pipeline.publish(event("f1"));
+        pipeline.stop();
+
+        assertEquals(3, attempts.get());
+        assertEquals(1, later.get());
+        assertEquals(1.0, registry.get("feedback.events.processed").tag("stage", "flaky").counter().count());
+        assertEquals(1.0, registry.get("feedback.events.failed").tag("stage", "broken").counter().count());
+    }
+
+    @Test
+    void fullQueueRunsStagesOnCaller() {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        FeedbackEventStage blocking = stage("blocking", batch -> {
+            threads.add(Thread.currentThread().getName());
+            if (Thread.currentThread().getName().equals("feedback-events")) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FeedbackEventPipeline pipeline = pipeline(List.of(blocking), 1, registry);
+        pipeline.start();
+
+        for (int i = 0; i < 10; i++) {
+            pipeline.publish(event("f" + i));
+        }
+        release.countDown();
+        pipeline.stop();
+
+        assertTrue(registry.get("feedback.events.inline").counter().count() > 0);
+        assertTrue(threads.contains(Thread.currentThread().getName()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.swarm.feedback.event;
+
+import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.service.ReputationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewerReputationStageTest {
+
+    /** Records the increments the stage asks for. */
+    private static class CountingReputationService implements ReputationService {
+        final Map<String, LongAdder> reviews = new ConcurrentHashMap<>();
+        final LongAdder calls = new LongAdder();
+
+        @Override
+        public void recordReviewsGiven(String reviewerId, int count) {
+            calls.increment();
+            reviews.computeIfAbsent(reviewerId, k -> new LongAdder()).add(count);
+        }
+
+        @Override
+        public void recordHelpfulVote(String reviewerId) {
+        }
+    }
+
+    @Test
+    void retryAfterPartialFailureDoesNotReapplyIncrements() {
+        AtomicInteger failuresLeft = new AtomicInteger(1);
+        CountingReputationService reputation = new CountingReputationService() {
+            @Override
+            public void recordReviewsGiven(String reviewerId, int count) {
+                // r2 comes after r1 in the batch, so r1 has already been applied when this throws
+                if (reviewerId.equals("r2") && failuresLeft.getAndDecrement() > 0) {
+                    throw new IllegalStateException("write timeout");
+                }
+                super.recordReviewsGiven(reviewerId, count);
+            }
+        };
+        ReviewerReputationStage stage = new ReviewerReputationStage();
+        ReflectionTestUtils.setField(stage, "reputationService", reputation);
+
+        FeedbackEventPipeline pipeline = new FeedbackEventPipeline();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(pipeline, "stages", List.of(stage));
+        ReflectionTestUtils.setField(pipeline, "meterRegistry", registry);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 16);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 100);
+        ReflectionTestUtils.setField(pipeline, "maxAttempts", 3);
+        ReflectionTestUtils.setField(pipeline, "retryBackoffMs", 0L);
+        ReflectionTestUtils.setField(pipeline, "shutdownTimeoutMs", 10000L);
+
+        List<FeedbackCreatedEvent> batch = new ArrayList<>();
+        for (String reviewer : List.of("r1", "r1", "r2", "r1", "r2")) {
+            Feedback feedback = new Feedback();
+            feedback.setReviewerUserId(reviewer);
+            batch.add(new FeedbackCreatedEvent(feedback));
+        }
+        ReflectionTestUtils.invokeMethod(pipeline, "runStage", stage, batch);
+
+        assertEquals(3, reputation.reviews.get("r1").sum());
+        assertEquals(2, reputation.reviews.get("r2").sum());
+        assertEquals(2, reputation.calls.sum());
+        assertEquals(5.0, registry.get("feedback.events.processed").counter().count());
+    }
+
+    @Test
+    void anonymousFeedbackEarnsNoReputation() {
+        CountingReputationService reputation = new CountingReputationService();
+        ReviewerReputationStage stage = new ReviewerReputationStage();
+        ReflectionTestUtils.setField(stage, "reputationService", reputation);
+
+        Feedback feedback = new Feedback();
+        feedback.setReviewerUserId("anonymous");
+        stage.handle(List.of(new FeedbackCreatedEvent(feedback)));
+
+        assertTrue(reputation.reviews.isEmpty());
+    }
+}
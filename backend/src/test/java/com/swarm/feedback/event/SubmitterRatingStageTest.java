@@ -0,0 +1,94 @@
+package com.swarm.feedback.event;
+
+import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.repository.SubmissionRepository;
+import com.swarm.feedback.service.RatingAggregateService;
+import com.swarm.feedback.service.RatingDelta;
+import com.swarm.feedback.service.UserStatsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SubmitterRatingStageTest {
+
+    @Mock
+    private RatingAggregateService ratingAggregateService;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @Test
+    void ownerWriteFailuresRetryOnlyTheOwnerWrites() {
+        Submission submission = new Submission();
+        submission.setId("s1");
+        submission.setOwnerUserId("owner");
+        when(submissionRepository.findAllById(List.of("s1"))).thenReturn(List.of(submission));
+        doThrow(new IllegalStateException("write timeout")).doNothing()
+                .when(ratingAggregateService).applyOwnerDelta(eq("owner"), any(RatingDelta.class));
+        doThrow(new IllegalStateException("write timeout")).doNothing()
+                .when(userStatsService).recordReceived(eq("owner"), any(RatingDelta.class));
+
+        pipeline().publish(new FeedbackCreatedEvent(feedback("APPROVED", 4)));
+
+        // The submission $inc ran once even though both owner writes needed a second attempt
+        ArgumentCaptor<RatingDelta> submissionDelta = ArgumentCaptor.forClass(RatingDelta.class);
+        verify(ratingAggregateService).applySubmissionDelta(eq("s1"), submissionDelta.capture());
+        assertEquals(4, submissionDelta.getValue().getSum());
+        verify(ratingAggregateService, times(2)).applyOwnerDelta(eq("owner"), any(RatingDelta.class));
+        verify(userStatsService, times(2)).recordReceived(eq("owner"), any(RatingDelta.class));
+        verify(ratingAggregateService, never()).applyDelta(anyString(), any(RatingDelta.class));
+    }
+
+    @Test
+    void pendingFeedbackTouchesNoRatings() {
+        pipeline().publish(new FeedbackCreatedEvent(feedback("PENDING", 2)));
+
+        verifyNoInteractions(ratingAggregateService, userStatsService, submissionRepository);
+    }
+
+    /** A stopped pipeline runs the stages on the caller, so these tests stay synchronous. */
+    private FeedbackEventPipeline pipeline() {
+        SubmitterRatingStage submitterRating = new SubmitterRatingStage();
+        ReflectionTestUtils.setField(submitterRating, "ratingAggregateService", ratingAggregateService);
+        OwnerRatingStage ownerRating = new OwnerRatingStage();
+        ReflectionTestUtils.setField(ownerRating, "ratingAggregateService", ratingAggregateService);
+        ReflectionTestUtils.setField(ownerRating, "submissionRepository", submissionRepository);
+        OwnerStatsStage ownerStats = new OwnerStatsStage();
+        ReflectionTestUtils.setField(ownerStats, "userStatsService", userStatsService);
+        ReflectionTestUtils.setField(ownerStats, "submissionRepository", submissionRepository);
+
+        FeedbackEventPipeline pipeline = new FeedbackEventPipeline();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(pipeline, "stages", List.of(submitterRating, ownerRating, ownerStats));
+        ReflectionTestUtils.setField(pipeline, "meterRegistry", registry);
+        ReflectionTestUtils.setField(pipeline, "maxAttempts", 3);
+        ReflectionTestUtils.setField(pipeline, "retryBackoffMs", 0L);
+        ReflectionTestUtils.setField(pipeline, "publishedCounter", registry.counter("feedback.events.published"));
+        ReflectionTestUtils.setField(pipeline, "inlineCounter", registry.counter("feedback.events.inline"));
+        return pipeline;
+    }
+
+    private static Feedback feedback(String status, int rating) {
+        Feedback feedback = new Feedback();
+        feedback.setSubmissionId("s1");
+        feedback.setReviewerUserId("reviewer");
+        feedback.setStatus(status);
+        feedback.setRating(rating);
+        return feedback;
+    }
+}
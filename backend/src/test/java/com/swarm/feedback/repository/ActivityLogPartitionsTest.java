@@ -0,0 +1,110 @@
+package com.swarm.feedback.repository;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityLogPartitionsTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOps;
+
+    @InjectMocks
+    private ActivityLogPartitions partitions;
+
+    private void configure(ActivityLogPartitions.Partitioning partitioning, int retentionDays) {
+        ReflectionTestUtils.setField(partitions, "partitioning", partitioning);
+        ReflectionTestUtils.setField(partitions, "retentionDays", retentionDays);
+    }
+
+    private static IndexInfo ttlIndex(Duration expireAfter) {
+        IndexInfo info = mock(IndexInfo.class);
+        when(info.getName()).thenReturn("createdAt_ttl");
+        when(info.getExpireAfter()).thenReturn(Optional.of(expireAfter));
+        return info;
+    }
+
+    @Test
+    void singleCollectionGetsCompoundAndTtlIndexes() {
+        configure(ActivityLogPartitions.Partitioning.NONE, 30);
+        when(mongoTemplate.indexOps("activity_logs")).thenReturn(indexOps);
+        when(indexOps.getIndexInfo()).thenReturn(List.of());
+
+        assertEquals("activity_logs", partitions.collectionFor(LocalDateTime.now()));
+        partitions.collectionFor(LocalDateTime.now());
+
+        ArgumentCaptor<Index> indexes = ArgumentCaptor.forClass(Index.class);
+        verify(indexOps, times(4)).ensureIndex(indexes.capture());
+        Index ttl = indexes.getAllValues().get(3);
+        assertEquals(Duration.ofDays(30).getSeconds(), ttl.getIndexOptions().get("expireAfterSeconds"));
+        assertEquals(new Document("userId", 1).append("createdAt", -1).append("_id", -1),
+                indexes.getAllValues().get(0).getIndexKeys());
+    }
+
+    @Test
+    void changedRetentionIsAppliedWithCollMod() {
+        configure(ActivityLogPartitions.Partitioning.NONE, 30);
+        when(mongoTemplate.indexOps("activity_logs")).thenReturn(indexOps);
+        IndexInfo existing = ttlIndex(Duration.ofDays(90));
+        when(indexOps.getIndexInfo()).thenReturn(List.of(existing));
+
+        partitions.ensureIndexes("activity_logs");
+
+        ArgumentCaptor<Document> command = ArgumentCaptor.forClass(Document.class);
+        verify(mongoTemplate).executeCommand(command.capture());
+        assertEquals("activity_logs", command.getValue().get("collMod"));
+        assertEquals(Duration.ofDays(30).getSeconds(),
+                command.getValue().get("index", Document.class).get("expireAfterSeconds"));
+    }
+
+    @Test
+    void monthlyRangeListsPartitionsNewestFirst() {
+        configure(ActivityLogPartitions.Partitioning.MONTHLY, 0);
+        YearMonth now = YearMonth.now();
+        LocalDateTime from = now.minusMonths(2).atDay(15).atStartOfDay();
+
+        List<String> names = partitions.collectionsBetween(from, null);
+
+        assertEquals(List.of(
+                "activity_logs_" + now.toString().replace('-', '_'),
+                "activity_logs_" + now.minusMonths(1).toString().replace('-', '_'),
+                "activity_logs_" + now.minusMonths(2).toString().replace('-', '_')), names);
+    }
+
+    @Test
+    void expiredPartitionsAreDropped() {
+        configure(ActivityLogPartitions.Partitioning.MONTHLY, 31);
+        String current = "activity_logs_" + YearMonth.now().toString().replace('-', '_');
+        when(mongoTemplate.getCollectionNames()).thenReturn(Set.of("activity_logs_2001_01", current, "users"));
+
+        partitions.dropExpiredPartitions();
+
+        verify(mongoTemplate).dropCollection("activity_logs_2001_01");
+        verify(mongoTemplate, never()).dropCollection(current);
+        verify(mongoTemplate, never()).dropCollection("users");
+    }
+}
@@ -0,0 +1,78 @@
+package com.swarm.feedback.repository;
+
+import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.model.Message;
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * COLLSCAN / in-memory SORT regression guard that runs without a server: every
+ * repository query must be served by an index in {@link IndexPlan}, and the
+ * entity annotations must declare exactly that plan.
+ */
+class IndexPlanTest {
+
+    @Test
+    void everyRepositoryAndTemplateQueryIsCoveredByAPlannedIndex() {
+        List<String> uncovered = new ArrayList<>();
+        for (IndexPlan.QueryShape shape : RepositoryQueryShapes.all()) {
+            if (RepositoryQueryShapes.byPrimaryKey(shape)) {
+                continue;
+            }
+            boolean covered = IndexPlan.forCollection(shape.getCollection()).stream()
+                    .anyMatch(index -> IndexPlan.covers(index, shape));
+            if (!covered) {
+                uncovered.add(shape.toString());
+            }
+        }
+        assertTrue(uncovered.isEmpty(), "Queries without a covering index: " + uncovered);
+    }
+
+    @Test
+    void coverageRequiresEqualityPrefixThenSortOrder() {
+        IndexPlan.PlannedIndex statusIndex = IndexPlan.forCollection(IndexPlan.SUBMISSIONS).stream()
+                .filter(index -> index.getName().equals("status_createdAt_id")).findFirst().orElseThrow();
+
+        assertTrue(IndexPlan.covers(statusIndex, shape(Set.of("status"), new Document("createdAt", -1))));
+        assertTrue(IndexPlan.covers(statusIndex, shape(Set.of("status"), new Document("createdAt", 1).append("_id", 1))));
+        assertFalse(IndexPlan.covers(statusIndex, shape(Set.of("ownerUserId"), new Document())));
+        assertFalse(IndexPlan.covers(statusIndex, shape(Set.of(), new Document("createdAt", -1))));
+        assertFalse(IndexPlan.covers(statusIndex, shape(Set.of("status"), new Document("createdAt", -1).append("_id", 1))));
+    }
+
+    @Test
+    void entityAnnotationsDeclareExactlyThePlan() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+        for (Class<?> entity : List.of(User.class, Submission.class, Feedback.class, Message.class)) {
+            String collection = mappingContext.getRequiredPersistentEntity(entity).getCollection();
+            Set<String> declared = new TreeSet<>();
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity)) {
+                declared.add(definition.getIndexKeys().toJson());
+            }
+            Set<String> planned = IndexPlan.forCollection(collection).stream()
+                    .map(index -> index.getKeys().toJson())
+                    .collect(Collectors.toCollection(TreeSet::new));
+            assertEquals(planned, declared, collection);
+        }
+    }
+
+    private static IndexPlan.QueryShape shape(Set<String> equality, Document sort) {
+        return new IndexPlan.QueryShape(IndexPlan.SUBMISSIONS, "test", equality, sort);
+    }
+}
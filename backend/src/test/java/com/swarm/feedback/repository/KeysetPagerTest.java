@@ -0,0 +1,125 @@
+package com.swarm.feedback.repository;
+
+import com.swarm.feedback.model.Message;
+import com.swarm.feedback.payload.response.PageResponse;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KeysetPagerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private KeysetPager keysetPager;
+
+    private static List<Message> messages(int count) {
+        List<Message> messages = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 12, 0);
+        for (int i = 0; i < count; i++) {
+            Message message = new Message();
+            message.setId("m" + i);
+            message.setCreatedAt(base.minusMinutes(i));
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    @Test
+    void fetchesOneExtraRowToDetectNextPage() {
+        when(mongoTemplate.find(any(Query.class), eq(Message.class))).thenReturn(messages(3));
+
+        PageResponse<Message> page = keysetPager.page(null, null, 2, Message.class, Message::getCreatedAt,
+                Message::getId);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Message.class));
+        assertEquals(3, query.getValue().getLimit());
+        assertEquals(new Document("createdAt", -1).append("_id", -1), query.getValue().getSortObject());
+        assertTrue(query.getValue().getQueryObject().isEmpty());
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertEquals(KeysetPager.encode(LocalDateTime.of(2026, 1, 1, 11, 59), "m1"), page.getNextCursor());
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(mongoTemplate.find(any(Query.class), eq(Message.class))).thenReturn(messages(2));
+
+        PageResponse<Message> page = keysetPager.page(null, null, 2, Message.class, Message::getCreatedAt,
+                Message::getId);
+
+        assertNull(page.getNextCursor());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void cursorSeeksPastLastRowAndKeepsFilter() {
+        String cursor = KeysetPager.encode(LocalDateTime.of(2026, 1, 1, 11, 59), "m1");
+
+        keysetPager.page(Criteria.where("status").is("APPROVED"), cursor, 2, Message.class, Message::getCreatedAt,
+                Message::getId);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Message.class));
+        String filter = query.getValue().getQueryObject().toString();
+        assertTrue(filter.contains("status=APPROVED"));
+        assertTrue(filter.contains("createdAt=Document{{$lt=2026-01-01T11:59}}"));
+        assertTrue(filter.contains("_id=Document{{$lt=m1}}"));
+    }
+
+    @Test
+    void partitionedPageFillsFromNewestCollectionsAndStopsEarly() {
+        List<Message> rows = messages(4);
+        when(mongoTemplate.find(any(Query.class), eq(Message.class), eq("p2"))).thenReturn(rows.subList(0, 1));
+        when(mongoTemplate.find(any(Query.class), eq(Message.class), eq("p1"))).thenReturn(rows.subList(1, 3));
+
+        PageResponse<Message> page = keysetPager.page(null, null, 2, Message.class, List.of("p2", "p1", "p0"),
+                Message::getCreatedAt, Message::getId);
+
+        assertEquals(List.of("m0", "m1"), page.getItems().stream().map(Message::getId).toList());
+        assertTrue(page.isHasMore());
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Message.class), eq("p0"));
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() {
+        assertThrows(ResponseStatusException.class,
+                () -> keysetPager.page(null, "not-a-cursor", 2, Message.class, Message::getCreatedAt,
+                        Message::getId));
+    }
+
+    @Test
+    void sizeIsClampedAndUnpagedCanBeDisabled() {
+        ReflectionTestUtils.setField(keysetPager, "defaultSize", 20);
+        ReflectionTestUtils.setField(keysetPager, "maxSize", 100);
+        assertEquals(20, keysetPager.resolveSize(null));
+        assertEquals(100, keysetPager.resolveSize(5000));
+        assertEquals(7, keysetPager.resolveSize(7));
+
+        ReflectionTestUtils.setField(keysetPager, "allowUnpaged", false);
+        assertThrows(ResponseStatusException.class, () -> keysetPager.isUnpaged(true));
+        assertFalse(keysetPager.isUnpaged(false));
+    }
+}
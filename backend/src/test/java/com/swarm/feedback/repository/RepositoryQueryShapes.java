@@ -0,0 +1,72 @@
+package com.swarm.feedback.repository;
+
+import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.model.Message;
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.model.User;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/** Derives the filter/sort shape of every query method declared on the repositories. */
+final class RepositoryQueryShapes {
+
+    private static final Map<Class<?>, Class<?>> REPOSITORIES = Map.of(
+            UserRepository.class, User.class,
+            SubmissionRepository.class, Submission.class,
+            FeedbackRepository.class, Feedback.class,
+            MessageRepository.class, Message.class);
+
+    private static final Map<Class<?>, String> COLLECTIONS = Map.of(
+            User.class, IndexPlan.USERS,
+            Submission.class, IndexPlan.SUBMISSIONS,
+            Feedback.class, IndexPlan.FEEDBACK,
+            Message.class, IndexPlan.MESSAGES);
+
+    private RepositoryQueryShapes() {
+    }
+
+    static List<IndexPlan.QueryShape> derived() {
+        List<IndexPlan.QueryShape> shapes = new ArrayList<>();
+        REPOSITORIES.forEach((repository, domain) -> {
+            for (Method method : repository.getDeclaredMethods()) {
+                if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                PartTree tree = new PartTree(method.getName(), domain);
+                Set<String> equality = new LinkedHashSet<>();
+                for (Part part : tree.getParts()) {
+                    String field = part.getProperty().toDotPath();
+                    equality.add(field.equals("id") ? "_id" : field);
+                }
+                Document sort = new Document();
+                for (Sort.Order order : tree.getSort()) {
+                    sort.append(order.getProperty(), order.isAscending() ? 1 : -1);
+                }
+                shapes.add(new IndexPlan.QueryShape(COLLECTIONS.get(domain),
+                        repository.getSimpleName() + "." + method.getName(), equality, sort));
+            }
+        });
+        return shapes;
+    }
+
+    static List<IndexPlan.QueryShape> all() {
+        List<IndexPlan.QueryShape> shapes = new ArrayList<>(derived());
+        shapes.addAll(IndexPlan.TEMPLATE_QUERIES);
+        return shapes;
+    }
+
+    /** Lookups on _id are served by the implicit primary-key index. */
+    static boolean byPrimaryKey(IndexPlan.QueryShape shape) {
+        return shape.getEquality().contains("_id");
+    }
+}
@@ -0,0 +1,89 @@
+package com.swarm.feedback.security;
+
+import com.swarm.feedback.model.User;
+import com.swarm.feedback.security.services.UserDetailsImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void saturatedPoolFailsFastWith503() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = mock(PasswordEncoder.class);
+        when(blocking.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (!queued.isDone() && meterRegistry.find("executor.queued")
+                .tag("name", "auth.password.hashing").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class, () -> encoder.encode("c"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        assertEquals(1.0, meterRegistry.counter("auth.password.hashing.rejected").count());
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void loginRehashesWhenConfiguredStrengthIsRaised() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 2, 4, meterRegistry);
+        User user = new User();
+        user.setId("u1");
+        user.setUsername("alice");
+        user.setPasswordHash(new BCryptPasswordEncoder(4).encode("secret"));
+        user.setRoles(Set.of("ROLE_SUBMITTER"));
+
+        UserDetailsService userDetailsService = username -> UserDetailsImpl.build(user);
+        UserDetailsPasswordService passwordService = mock(UserDetailsPasswordService.class);
+        when(passwordService.updatePassword(any(), anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(passwordService);
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("alice", "secret"));
+
+        verify(passwordService).updatePassword(any(), argThat(hash -> hash.startsWith("$2a$05$")));
+    }
+}
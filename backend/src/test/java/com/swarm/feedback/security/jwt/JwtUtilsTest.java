@@ -0,0 +1,73 @@
+package com.swarm.feedback.security.jwt;
+
+import com.swarm.feedback.model.User;
+import com.swarm.feedback.security.services.UserDetailsImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "VGhpcyBJcyBBIFZlcnkgTG9uZyBTZWNyZXQgS2V5IEZvciBKV1QgQXV0aGVudGljYXRpb24=";
+
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = newJwtUtils(60_000);
+    }
+
+    private JwtUtils newJwtUtils(int expirationMs) {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(utils, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(utils, "verifiedCacheSize", 100L);
+        ReflectionTestUtils.setField(utils, "meterRegistry", new SimpleMeterRegistry());
+        utils.init();
+        return utils;
+    }
+
+    private String token(JwtUtils utils, String username) {
+        User user = new User();
+        user.setId("id-" + username);
+        user.setUsername(username);
+        user.setRoles(Set.of("ROLE_USER"));
+        UserDetailsImpl principal = UserDetailsImpl.build(user);
+        return utils.generateJwtToken(new UsernamePasswordAuthenticationToken(principal, null));
+    }
+
+    @Test
+    void validTokenYieldsSubjectAndIsServedFromCacheOnRepeat() {
+        String jwt = token(jwtUtils, "alice");
+
+        JwtUtils.VerifiedToken first = jwtUtils.validate(jwt);
+        JwtUtils.VerifiedToken second = jwtUtils.validate(jwt);
+
+        assertNotNull(first);
+        assertEquals("alice", first.getSubject());
+        assertSame(first, second);
+    }
+
+    @Test
+    void tamperedOrForeignTokensAreRejected() {
+        String jwt = token(jwtUtils, "alice");
+        int dot = jwt.lastIndexOf('.');
+        String tampered = jwt.substring(0, dot + 1) + new StringBuilder(jwt.substring(dot + 1)).reverse();
+
+        assertNull(jwtUtils.validate(tampered));
+        assertNull(jwtUtils.validate("not-a-jwt"));
+        assertNull(jwtUtils.validate(null));
+    }
+
+    @Test
+    void expiredTokensAreRejected() {
+        JwtUtils shortLived = newJwtUtils(-1_000);
+        assertNull(shortLived.validate(token(shortLived, "bob")));
+    }
+}
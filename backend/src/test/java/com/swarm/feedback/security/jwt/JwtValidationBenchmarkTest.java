@@ -0,0 +1,82 @@
+package com.swarm.feedback.security.jwt;
+
+import com.swarm.feedback.model.User;
+import com.swarm.feedback.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Per-request token handling in AuthTokenFilter before and after JwtUtils kept
+ * its key, parser and verified-token cache: the old path rebuilt the key and
+ * parser and verified the same token twice (validateJwtToken, then
+ * getUserNameFromJwtToken). Run with
+ * {@code mvn test -Dtest=JwtValidationBenchmarkTest -Djwt.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "jwt.benchmark", matches = "true")
+class JwtValidationBenchmarkTest {
+
+    private static final String SECRET = "VGhpcyBJcyBBIFZlcnkgTG9uZyBTZWNyZXQgS2V5IEZvciBKV1QgQXV0aGVudGljYXRpb24=";
+
+    private static final int ITERATIONS = Integer.getInteger("jwt.benchmark.iterations", 200_000);
+
+    @Test
+    void compareWithPerRequestParsing() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", 10_000L);
+        ReflectionTestUtils.setField(jwtUtils, "meterRegistry", new SimpleMeterRegistry());
+        jwtUtils.init();
+        String token = token(jwtUtils);
+
+        Function<String, String> before = JwtValidationBenchmarkTest::previousFilterPath;
+        Function<String, String> after = jwt -> jwtUtils.validate(jwt).getSubject();
+        run(before, token, ITERATIONS / 10);
+        run(after, token, ITERATIONS / 10);
+        double beforeMicros = run(before, token, ITERATIONS);
+        double afterMicros = run(after, token, ITERATIONS);
+
+        System.out.printf("%d validations of one bearer token: per-request parsing %.2f us, "
+                + "JwtUtils.validate %.2f us%n", ITERATIONS, beforeMicros, afterMicros);
+    }
+
+    /** What AuthTokenFilter did per request before the change. */
+    private static String previousFilterPath(String token) {
+        Jwts.parserBuilder().setSigningKey(key()).build().parse(token);
+        return Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    private static Key key() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+
+    /** Mean microseconds per call. */
+    private static double run(Function<String, String> validate, String token, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            assertEquals("alice", validate.apply(token));
+        }
+        return (System.nanoTime() - start) / 1e3 / iterations;
+    }
+
+    private static String token(JwtUtils jwtUtils) {
+        User user = new User();
+        user.setId("id-alice");
+        user.setUsername("alice");
+        user.setRoles(Set.of("ROLE_USER"));
+        return jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(UserDetailsImpl.build(user), null));
+    }
+}
@@ -0,0 +1,79 @@
+package com.swarm.feedback.security.services;
+
+import com.swarm.feedback.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    @InjectMocks
+    private PrincipalCache principalCache;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(principalCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(principalCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(principalCache, "ttlSeconds", 60L);
+        principalCache.init();
+    }
+
+    private static UserDetailsImpl principal(String username) {
+        User user = new User();
+        user.setId("id-" + username);
+        user.setUsername(username);
+        user.setRoles(Set.of("ROLE_USER"));
+        return UserDetailsImpl.build(user);
+    }
+
+    @Test
+    void repeatedLookupsHitTheCache() {
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(principal("alice"));
+
+        UserDetailsImpl first = principalCache.get("alice");
+        UserDetailsImpl second = principalCache.get("alice");
+
+        assertSame(first, second);
+        verify(userDetailsService, times(1)).loadUserByUsername("alice");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "auth.principals")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void invalidateForcesReload() {
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(principal("alice"));
+
+        principalCache.get("alice");
+        principalCache.invalidate("alice");
+        principalCache.get("alice");
+
+        verify(userDetailsService, times(2)).loadUserByUsername("alice");
+    }
+
+    @Test
+    void unknownUsersAreNotCached() {
+        when(userDetailsService.loadUserByUsername("ghost"))
+                .thenThrow(new UsernameNotFoundException("ghost"));
+
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.get("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.get("ghost"));
+        verify(userDetailsService, times(2)).loadUserByUsername("ghost");
+    }
+}
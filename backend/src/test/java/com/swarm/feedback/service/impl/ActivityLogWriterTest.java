@@ -0,0 +1,109 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.model.ActivityLog;
+import com.swarm.feedback.repository.ActivityLogPartitions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityLogWriterTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private ActivityLogPartitions activityLogPartitions;
+
+    @InjectMocks
+    private ActivityLogWriter writer;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(writer, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 2);
+        ReflectionTestUtils.setField(writer, "batchSize", 100);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 60_000L);
+        ReflectionTestUtils.setField(writer, "blockTimeoutMs", 10L);
+        ReflectionTestUtils.setField(writer, "sampleRate", 10);
+        ReflectionTestUtils.setField(writer, "shutdownTimeoutMs", 5_000L);
+        ReflectionTestUtils.setField(writer, "overflowPolicy", ActivityLogWriter.OverflowPolicy.BLOCK);
+        lenient().when(activityLogPartitions.collectionFor(any())).thenReturn("activity_logs");
+    }
+
+    private static ActivityLog log(String action) {
+        ActivityLog log = new ActivityLog();
+        log.setUserId("u1");
+        log.setActionType(action);
+        return log;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ActivityLog> insertedBatch() {
+        ArgumentCaptor<List<ActivityLog>> batch = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(batch.capture());
+        return (List<ActivityLog>) batch.getValue();
+    }
+
+    @Test
+    void pendingEntriesAreWrittenAsOneBulkOnShutdown() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ActivityLog.class, "activity_logs")).thenReturn(bulkOperations);
+        writer.start();
+        writer.write(log("A"));
+        writer.write(log("B"));
+        writer.stop();
+
+        assertEquals(List.of("A", "B"), insertedBatch().stream().map(ActivityLog::getActionType).toList());
+        verify(bulkOperations).execute();
+        assertEquals(0, writer.getQueueDepth());
+    }
+
+    @Test
+    void dropOldestEvictsTheHeadWhenFull() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ActivityLog.class, "activity_logs")).thenReturn(bulkOperations);
+        ReflectionTestUtils.setField(writer, "overflowPolicy", ActivityLogWriter.OverflowPolicy.DROP_OLDEST);
+        // Buffer without a worker so the queue fills up deterministically
+        ReflectionTestUtils.setField(writer, "running", true);
+        writer.write(log("A"));
+        writer.write(log("B"));
+        writer.write(log("C"));
+
+        assertEquals(2, writer.getQueueDepth());
+        assertEquals(1.0, meterRegistry.counter("activity.log.dropped", "reason", "oldest").count());
+
+        ReflectionTestUtils.setField(writer, "running", false);
+        ReflectionTestUtils.invokeMethod(writer, "drainBatch");
+        assertEquals(List.of("B", "C"), insertedBatch().stream().map(ActivityLog::getActionType).toList());
+    }
+
+    @Test
+    void blockPolicyDropsAfterTimeoutWhenStillFull() {
+        ReflectionTestUtils.setField(writer, "running", true);
+        writer.write(log("A"));
+        writer.write(log("B"));
+        writer.write(log("C"));
+
+        assertEquals(2, writer.getQueueDepth());
+        assertEquals(1.0, meterRegistry.counter("activity.log.dropped", "reason", "full").count());
+        verifyNoInteractions(mongoTemplate);
+    }
+}
@@ -0,0 +1,82 @@
+package com.swarm.feedback.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.repository.SubmissionRepository;
+import com.swarm.feedback.service.ApprovedFeedSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApprovedFeedServiceImplTest {
+
+    @Mock
+    private SubmissionRepository submissionRepository;
+
+    @InjectMocks
+    private ApprovedFeedServiceImpl approvedFeedService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(approvedFeedService, "objectMapper",
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(approvedFeedService, "meterRegistry", new SimpleMeterRegistry());
+    }
+
+    private static Submission submission(String id, String title) {
+        Submission submission = new Submission();
+        submission.setId(id);
+        submission.setTitle(title);
+        submission.setStatus("APPROVED");
+        submission.setCreatedAt(LocalDateTime.of(2026, 1, 1, 12, 0));
+        return submission;
+    }
+
+    @Test
+    void snapshotIsBuiltOnceUntilInvalidated() throws Exception {
+        when(submissionRepository.findByStatus("APPROVED")).thenReturn(List.of(submission("s1", "One")));
+
+        ApprovedFeedSnapshot first = approvedFeedService.getSnapshot();
+        assertSame(first, approvedFeedService.getSnapshot());
+        verify(submissionRepository, times(1)).findByStatus("APPROVED");
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(first.getGzip()))) {
+            assertArrayEquals(first.getJson(), gzip.readAllBytes());
+        }
+        assertTrue(first.getEtag().startsWith("\"") && first.getEtag().endsWith("\""));
+    }
+
+    @Test
+    void invalidationRebuildsAndEtagFollowsContent() {
+        when(submissionRepository.findByStatus("APPROVED"))
+                .thenReturn(List.of(submission("s1", "One")))
+                .thenReturn(List.of(submission("s1", "One")))
+                .thenReturn(List.of(submission("s1", "One"), submission("s2", "Two")));
+
+        ApprovedFeedSnapshot first = approvedFeedService.getSnapshot();
+        approvedFeedService.invalidate();
+        ApprovedFeedSnapshot unchanged = approvedFeedService.getSnapshot();
+        approvedFeedService.invalidate();
+        ApprovedFeedSnapshot changed = approvedFeedService.getSnapshot();
+
+        assertNotSame(first, unchanged);
+        assertEquals(first.getEtag(), unchanged.getEtag());
+        assertNotEquals(first.getEtag(), changed.getEtag());
+        verify(submissionRepository, times(3)).findByStatus("APPROVED");
+    }
+}
@@ -0,0 +1,242 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.payload.request.UploadSessionRequest;
+import com.swarm.feedback.payload.response.UploadSessionResponse;
+import com.swarm.feedback.service.StoredFile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedUploadServiceImplTest {
+
+    private static final int CHUNK = 1024;
+
+    @TempDir
+    Path uploadDir;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private ChunkedUploadServiceImpl uploads;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageServiceImpl storage = new FileStorageServiceImpl();
+        ReflectionTestUtils.setField(storage, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(storage, "uploadDirectory", uploadDir.toString());
+        ReflectionTestUtils.setField(storage, "maxImageSize", DataSize.ofKilobytes(4));
+        ReflectionTestUtils.setField(storage, "maxVideoSize", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(storage, "maxDefaultSize", DataSize.ofKilobytes(64));
+        ReflectionTestUtils.setField(storage, "transferChunkSize", DataSize.ofKilobytes(1));
+        ReflectionTestUtils.invokeMethod(storage, "init");
+
+        uploads = new ChunkedUploadServiceImpl();
+        ReflectionTestUtils.setField(uploads, "fileStorageService", storage);
+        ReflectionTestUtils.setField(uploads, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(uploads, "ttlMinutes", 30L);
+        ReflectionTestUtils.setField(uploads, "defaultChunkSize", DataSize.ofBytes(CHUNK));
+        ReflectionTestUtils.setField(uploads, "minChunkSize", DataSize.ofBytes(CHUNK));
+        ReflectionTestUtils.setField(uploads, "maxChunkSize", DataSize.ofKilobytes(16));
+        ReflectionTestUtils.setField(uploads, "maxPerUser", 2);
+        uploads.ticker = nanos::get;
+        ReflectionTestUtils.invokeMethod(uploads, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(uploads, "close");
+    }
+
+    @Test
+    void chunksArrivingInParallelAndOutOfOrderAreAssembledInPlace() throws Exception {
+        byte[] file = randomBytes(10 * CHUNK + 300);
+        UploadSessionResponse session = uploads.create("alice", request("clip.mp4", "video/mp4", file.length));
+        assertEquals(11, session.getChunkCount());
+
+        List<Integer> order = new ArrayList<>(IntStream.range(0, 11).boxed().toList());
+        Collections.shuffle(order, new Random(7));
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<UploadSessionResponse>> puts = new ArrayList<>();
+            for (int index : order) {
+                puts.add(pool.submit(() -> putChunk("alice", session.getId(), index, file)));
+            }
+            for (Future<UploadSessionResponse> put : puts) {
+                put.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        StoredFile stored = uploads.complete("alice", session.getId(), sha256(file));
+
+        assertEquals(sha256(file) + ".mp4", stored.getFileName());
+        assertEquals(file.length, stored.getSize());
+        assertArrayEquals(file, Files.readAllBytes(uploadDir.resolve(stored.getFileName())));
+        assertEquals(0, sessionFiles());
+    }
+
+    @Test
+    void digestStaysCorrectWhenChunksRaceTheHasher() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 20; round++) {
+                byte[] file = randomBytes(40 * CHUNK + 1 + round);
+                String id = uploads.create("alice", request("clip.mp4", "video/mp4", file.length)).getId();
+                List<Integer> order = new ArrayList<>(IntStream.range(0, 41).boxed().toList());
+                Collections.shuffle(order, new Random(round));
+
+                List<Future<?>> work = new ArrayList<>();
+                for (int index : order) {
+                    work.add(pool.submit(() -> putChunk("alice", id, index, file)));
+                    work.add(pool.submit(() -> uploads.status("alice", id)));
+                }
+                for (Future<?> future : work) {
+                    future.get();
+                }
+
+                assertEquals(sha256(file), uploads.complete("alice", id, sha256(file)).getDigest());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void statusListsReceivedChunksAndRetriesAreNoOps() throws Exception {
+        byte[] file = randomBytes(4 * CHUNK);
+        String id = uploads.create("alice", request("notes.bin", null, file.length)).getId();
+
+        putChunk("alice", id, 3, file);
+        putChunk("alice", id, 1, file);
+        putChunk("alice", id, 1, file);
+
+        assertEquals(List.of(1, 3), uploads.status("alice", id).getReceived());
+        ResponseStatusException incomplete = assertThrows(ResponseStatusException.class,
+                () -> uploads.complete("alice", id, sha256(file)));
+        assertEquals(HttpStatus.CONFLICT, incomplete.getStatusCode());
+
+        putChunk("alice", id, 0, file);
+        putChunk("alice", id, 2, file);
+        assertEquals(file.length, uploads.complete("alice", id, sha256(file)).getSize());
+    }
+
+    @Test
+    void chunkOfTheWrongLengthIsRejected() throws IOException {
+        byte[] file = randomBytes(2 * CHUNK + 10);
+        String id = uploads.create("alice", request("notes.bin", null, file.length)).getId();
+
+        ResponseStatusException tooLong = assertThrows(ResponseStatusException.class, () -> uploads.writeChunk(
+                "alice", id, 2, new ByteArrayInputStream(new byte[CHUNK]), -1));
+        ResponseStatusException badIndex = assertThrows(ResponseStatusException.class, () -> uploads.writeChunk(
+                "alice", id, 3, new ByteArrayInputStream(new byte[10]), 10));
+
+        assertEquals(HttpStatus.BAD_REQUEST, tooLong.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, badIndex.getStatusCode());
+        assertEquals(List.of(), uploads.status("alice", id).getReceived());
+    }
+
+    @Test
+    void checksumMismatchDiscardsTheSession() throws Exception {
+        byte[] file = randomBytes(2 * CHUNK);
+        String id = uploads.create("alice", request("notes.bin", null, file.length)).getId();
+        putChunk("alice", id, 0, file);
+        putChunk("alice", id, 1, file);
+
+        ResponseStatusException mismatch = assertThrows(ResponseStatusException.class,
+                () -> uploads.complete("alice", id, sha256(new byte[1])));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, mismatch.getStatusCode());
+        assertThrows(ResponseStatusException.class, () -> uploads.status("alice", id));
+        assertEquals(0, sessionFiles());
+    }
+
+    @Test
+    void sessionsAreLimitedAndPrivateToTheirOwner() throws IOException {
+        UploadSessionResponse session = uploads.create("alice", request("a.bin", null, CHUNK));
+        uploads.create("alice", request("b.bin", null, CHUNK));
+
+        ResponseStatusException tooMany = assertThrows(ResponseStatusException.class,
+                () -> uploads.create("alice", request("c.bin", null, CHUNK)));
+        ResponseStatusException tooLarge = assertThrows(ResponseStatusException.class,
+                () -> uploads.create("bob", request("big.png", "image/png", 5 * CHUNK)));
+        ResponseStatusException foreign = assertThrows(ResponseStatusException.class,
+                () -> uploads.status("bob", session.getId()));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, tooMany.getStatusCode());
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, tooLarge.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, foreign.getStatusCode());
+    }
+
+    @Test
+    void idleSessionsExpireAndTheirDataIsDeleted() throws IOException {
+        byte[] file = randomBytes(3 * CHUNK);
+        String idle = uploads.create("alice", request("idle.bin", null, file.length)).getId();
+        String active = uploads.create("alice", request("active.bin", null, file.length)).getId();
+        putChunk("alice", idle, 0, file);
+
+        nanos.addAndGet(Duration.ofMinutes(20).toNanos());
+        putChunk("alice", active, 0, file);
+        nanos.addAndGet(Duration.ofMinutes(15).toNanos());
+        uploads.expireIdle();
+
+        assertThrows(ResponseStatusException.class, () -> uploads.status("alice", idle));
+        assertEquals(List.of(0), uploads.status("alice", active).getReceived());
+        assertEquals(1, sessionFiles());
+    }
+
+    private UploadSessionResponse putChunk(String owner, String id, int index, byte[] file) throws IOException {
+        int from = index * CHUNK;
+        byte[] chunk = Arrays.copyOfRange(file, from, Math.min(file.length, from + CHUNK));
+        return uploads.writeChunk(owner, id, index, new ByteArrayInputStream(chunk), chunk.length);
+    }
+
+    private static UploadSessionRequest request(String fileName, String contentType, long size) {
+        UploadSessionRequest request = new UploadSessionRequest();
+        request.setFileName(fileName);
+        request.setContentType(contentType);
+        request.setSize(size);
+        return request;
+    }
+
+    private long sessionFiles() throws IOException {
+        try (var files = Files.list(uploadDir.resolve(ChunkedUploadServiceImpl.SESSION_DIR))) {
+            return files.count();
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -0,0 +1,145 @@
+package com.swarm.feedback.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.payload.request.ExportFilter;
+import com.swarm.feedback.service.ExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private ExportServiceImpl exportService;
+
+    /** Discards bytes but records how much was written between flushes. */
+    private static class FlushTrackingStream extends OutputStream {
+        long bytes;
+        long newlines;
+        long flushes;
+        long sinceFlush;
+        long maxSinceFlush;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            sinceFlush++;
+            if (b == '\n') {
+                newlines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+            maxSinceFlush = Math.max(maxSinceFlush, sinceFlush);
+            sinceFlush = 0;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ReflectionTestUtils.setField(exportService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(exportService, "flushBatchSize", 500);
+    }
+
+    private static Stream<Feedback> syntheticFeedback(long count, AtomicLong produced) {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 0, 0);
+        return LongStream.range(0, count).mapToObj(i -> {
+            produced.incrementAndGet();
+            Feedback feedback = new Feedback();
+            feedback.setId(Long.toHexString(i));
+            feedback.setSubmissionId("s" + (i % 1000));
+            feedback.setReviewerUserId("r" + (i % 97));
+            feedback.setRating((int) (i % 5) + 1);
+            feedback.setComments("Synthetic comment number " + i);
+            feedback.setCreatedAt(createdAt);
+            return feedback;
+        });
+    }
+
+    @Test
+    void streamsOneMillionRowsWithBoundedBuffering() throws Exception {
+        long rows = 1_000_000;
+        AtomicLong produced = new AtomicLong();
+        when(mongoTemplate.stream(any(Query.class), eq(Feedback.class)))
+                .thenReturn(syntheticFeedback(rows, produced));
+
+        FlushTrackingStream out = new FlushTrackingStream();
+        long exported = exportService.exportFeedback(new ExportFilter(), ExportService.Format.NDJSON, out);
+
+        assertEquals(rows, exported);
+        assertEquals(rows, produced.get());
+        assertEquals(rows, out.newlines);
+        assertTrue(out.flushes >= rows / 500, "should flush once per batch");
+        assertTrue(out.flushes <= rows / 500 + 2, "flushed " + out.flushes + " times, not once per batch");
+        // Nothing close to the full export (~100 MB) is ever held between flushes
+        assertTrue(out.maxSinceFlush < 256 * 1024, "buffered " + out.maxSinceFlush + " bytes between flushes");
+    }
+
+    @Test
+    void csvExportQuotesAndAppliesFilters() throws Exception {
+        Feedback feedback = new Feedback();
+        feedback.setId("f1");
+        feedback.setSubmissionId("s1");
+        feedback.setReviewerUserId("r1");
+        feedback.setRating(4);
+        feedback.setStatus("APPROVED");
+        feedback.setCreatedAt(LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+        feedback.setComments("Nice, but \"rough\"\nedges");
+        when(mongoTemplate.stream(any(Query.class), eq(Feedback.class))).thenReturn(Stream.of(feedback));
+
+        ExportFilter filter = new ExportFilter();
+        filter.setStatus("APPROVED");
+        filter.setFrom(LocalDateTime.of(2026, 1, 1, 0, 0));
+        filter.setSubmissionId("s1");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportFeedback(filter, ExportService.Format.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,submissionId,reviewerUserId,rating,status,createdAt,comments"));
+        assertTrue(csv.contains("f1,s1,r1,4,APPROVED,2026-01-02T03:04:05,\"Nice, but \"\"rough\"\"\nedges\",,"));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(Feedback.class));
+        String criteria = query.getValue().getQueryObject().toString();
+        assertTrue(criteria.contains("status=APPROVED"));
+        assertTrue(criteria.contains("submissionId=s1"));
+        assertTrue(criteria.contains("$gte=2026-01-01T00:00"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.repository.FeedbackRepository;
+import com.swarm.feedback.service.RatingAggregateService;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedbackServiceImplTest {
+
+    @Mock
+    private FeedbackRepository feedbackRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private RatingAggregateService ratingAggregateService;
+
+    @InjectMocks
+    private FeedbackServiceImpl feedbackService;
+
+    @Test
+    void updateFeedbackStatusIssuesSingleFindAndModifyById() {
+        Feedback stored = new Feedback();
+        stored.setId("f1");
+        stored.setSubmissionId("s1");
+        stored.setRating(4);
+        stored.setStatus("APPROVED");
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Feedback.class))).thenReturn(stored);
+
+        Optional<Feedback> result = feedbackService.updateFeedbackStatus("f1", "REJECTED", "off-topic");
+
+        assertTrue(result.isPresent());
+        assertEquals("REJECTED", result.get().getStatus());
+        assertEquals("off-topic", result.get().getRejectionReason());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(), eq(Feedback.class));
+
+        assertEquals(new Document("_id", "f1"), query.getValue().getQueryObject());
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals("REJECTED", set.get("status"));
+        assertEquals("off-topic", set.get("rejectionReason"));
+        assertEquals(2, set.size());
+        assertFalse(options.getValue().isReturnNew());
+
+        verify(feedbackRepository, never()).findAll();
+        verifyNoMoreInteractions(mongoTemplate);
+
+        ArgumentCaptor<Feedback> before = ArgumentCaptor.forClass(Feedback.class);
+        verify(ratingAggregateService).applyChange(before.capture(), eq(result.get()));
+        assertEquals("APPROVED", before.getValue().getStatus());
+        assertEquals(4, before.getValue().getRating());
+    }
+
+    @Test
+    void rejectionReasonIsOnlySetForRejectedStatus() {
+        feedbackService.updateFeedbackStatus("f1", "APPROVED", "ignored");
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class),
+                eq(Feedback.class));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(1, set.size());
+        assertEquals("APPROVED", set.get("status"));
+    }
+
+    @Test
+    void missingFeedbackYieldsEmpty() {
+        assertTrue(feedbackService.replyToFeedback("missing", "thanks").isEmpty());
+        verify(feedbackRepository, never()).findAll();
+    }
+}
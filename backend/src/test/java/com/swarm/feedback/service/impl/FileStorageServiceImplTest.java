@@ -0,0 +1,219 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.service.StoredFile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileStorageServiceImplTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private FileStorageServiceImpl storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new FileStorageServiceImpl();
+        ReflectionTestUtils.setField(storage, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(storage, "uploadDirectory", uploadDir.toString());
+        ReflectionTestUtils.setField(storage, "maxImageSize", DataSize.ofKilobytes(4));
+        ReflectionTestUtils.setField(storage, "maxVideoSize", DataSize.ofMegabytes(200));
+        ReflectionTestUtils.setField(storage, "maxDefaultSize", DataSize.ofKilobytes(64));
+        ReflectionTestUtils.setField(storage, "transferChunkSize", DataSize.ofKilobytes(1));
+        ReflectionTestUtils.invokeMethod(storage, "init");
+    }
+
+    @Test
+    void streamsBodyToItsContentAddress() throws Exception {
+        byte[] body = new byte[3000];
+        body[2999] = 7;
+
+        StoredFile stored = storage.store(new ByteArrayInputStream(body), "../../avatar photo.png", "image/png",
+                body.length);
+
+        assertEquals(3000, stored.getSize());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body)), stored.getDigest());
+        assertEquals(stored.getDigest() + ".png", stored.getFileName());
+        assertArrayEquals(body, Files.readAllBytes(uploadDir.resolve(stored.getFileName())));
+        assertEquals(List.of(uploadDir.resolve(stored.getFileName())), listUploads());
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() throws IOException {
+        byte[] body = "same bytes".getBytes();
+
+        StoredFile first = storage.store(new ByteArrayInputStream(body), "report.pdf", "application/pdf", -1);
+        StoredFile second = storage.store(new ByteArrayInputStream(body), "copy.PDF", "application/pdf", -1);
+        StoredFile other = storage.store(new ByteArrayInputStream(body), "picture", "image/jpeg", -1);
+
+        assertFalse(first.isDeduplicated());
+        assertTrue(second.isDeduplicated());
+        assertEquals(first.getFileName(), second.getFileName());
+        assertEquals(first.getDigest() + ".jpg", other.getFileName());
+        assertEquals(2, listUploads().size());
+    }
+
+    @Test
+    void duplicateUploadWaitingOnTheCollectorStoresItsOwnCopy() throws Exception {
+        byte[] body = "shared bytes".getBytes();
+        StoredFile first = storage.store(new ByteArrayInputStream(body), "report.pdf", "application/pdf", -1);
+        Path blob = uploadDir.resolve(first.getFileName());
+        ReentrantLock lock = (ReentrantLock) storage.blobLock(first.getFileName());
+
+        // The collector holds the blob's lock while the duplicate arrives, then deletes the blob
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<StoredFile> duplicate;
+        lock.lock();
+        try {
+            duplicate = executor.submit(() -> storage.store(new ByteArrayInputStream(body), "copy.pdf",
+                    "application/pdf", -1));
+            while (!lock.hasQueuedThreads()) {
+                Thread.sleep(1);
+            }
+            Files.delete(blob);
+        } finally {
+            lock.unlock();
+            executor.shutdown();
+        }
+
+        StoredFile second = duplicate.get();
+        assertFalse(second.isDeduplicated());
+        assertArrayEquals(body, Files.readAllBytes(blob));
+    }
+
+    @Test
+    void oversizedBodyIsCutOffAndRemoved() throws IOException {
+        ResponseStatusException declared = assertThrows(ResponseStatusException.class,
+                () -> storage.store(new ByteArrayInputStream(new byte[10]), "a.png", "image/png", 5000));
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, declared.getStatusCode());
+
+        ResponseStatusException streamed = assertThrows(ResponseStatusException.class,
+                () -> storage.store(new ByteArrayInputStream(new byte[5000]), "a.png", "image/png", -1));
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, streamed.getStatusCode());
+
+        // Same size is fine for a type with a higher limit
+        storage.store(new ByteArrayInputStream(new byte[5000]), "a.bin", "application/octet-stream", -1);
+        assertEquals(1, listUploads().size());
+    }
+
+    @Test
+    void limitFollowsTheStoredTypeNotTheDeclaredOne() {
+        // Stored and served as an image, so the video Content-Type does not raise the limit
+        ResponseStatusException disguised = assertThrows(ResponseStatusException.class,
+                () -> storage.store(new ByteArrayInputStream(new byte[5000]), "a.jpg", "video/mp4", -1));
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, disguised.getStatusCode());
+
+        assertEquals(DataSize.ofKilobytes(4).toBytes(), storage.maxSizeFor("a.JPG", "application/octet-stream"));
+        assertEquals(DataSize.ofMegabytes(200).toBytes(), storage.maxSizeFor("clip", "video/mp4"));
+        assertEquals(DataSize.ofKilobytes(64).toBytes(), storage.maxSizeFor("clip.exe", "video/mp4"));
+    }
+
+    @Test
+    void abortedAndTruncatedUploadsLeaveNothingBehind() throws IOException {
+        InputStream aborting = new InputStream() {
+            private int remaining = 2000;
+
+            @Override
+            public int read() throws IOException {
+                return read(new byte[1], 0, 1) < 0 ? -1 : 1;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (remaining == 0) {
+                    throw new IOException("Connection reset by peer");
+                }
+                int n = Math.min(length, remaining);
+                remaining -= n;
+                return n;
+            }
+        };
+        assertThrows(IOException.class, () -> storage.store(aborting, "a.bin", "text/plain", -1));
+        assertThrows(IOException.class,
+                () -> storage.store(new ByteArrayInputStream(new byte[100]), "a.bin", "text/plain", 200));
+
+        assertTrue(listUploads().isEmpty());
+    }
+
+    /**
+     * Throughput of concurrent 100 MB streaming uploads; run with
+     * {@code mvn test -Dtest=FileStorageServiceImplTest -Dupload.benchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "upload.benchmark", matches = "true")
+    void concurrentHundredMegabyteUploads() throws Exception {
+        ReflectionTestUtils.setField(storage, "transferChunkSize", DataSize.ofMegabytes(8));
+        int uploads = Integer.getInteger("upload.benchmark.concurrency", 8);
+        long size = DataSize.ofMegabytes(100).toBytes();
+        ExecutorService clients = Executors.newFixedThreadPool(uploads);
+        try {
+            long start = System.nanoTime();
+            List<Future<StoredFile>> results = new ArrayList<>();
+            for (int i = 0; i < uploads; i++) {
+                results.add(clients.submit(() -> storage.store(new PatternStream(size), "bench.mp4", "video/mp4", size)));
+            }
+            for (Future<StoredFile> result : results) {
+                assertEquals(size, result.get().getSize());
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d x 100 MB in %.2f s: %.0f MB/s%n", uploads, seconds, uploads * 100 / seconds);
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    private List<Path> listUploads() throws IOException {
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    /** Request body stand-in that produces {@code size} bytes without holding them. */
+    private static final class PatternStream extends InputStream {
+        private long remaining;
+
+        PatternStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            return remaining-- > 0 ? 'x' : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = (int) Math.min(length, remaining);
+            java.util.Arrays.fill(buffer, offset, offset + n, (byte) 'x');
+            remaining -= n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LastLoginServiceImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private LastLoginServiceImpl lastLoginService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(lastLoginService, "batchSize", 2);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)).thenReturn(bulkOperations);
+    }
+
+    @Test
+    void repeatedLoginsCoalesceToLatestTimestamp() {
+        LocalDateTime earlier = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime later = earlier.plusMinutes(5);
+        lastLoginService.recordLogin("u1", later);
+        lastLoginService.recordLogin("u1", earlier);
+
+        assertEquals(1, lastLoginService.flush());
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations).updateOne(any(Query.class), update.capture());
+        assertEquals(later, update.getValue().getUpdateObject().get("$set", org.bson.Document.class)
+                .get("lastLoginAt"));
+        assertEquals(0, lastLoginService.getPendingCount());
+    }
+
+    @Test
+    void pendingEntriesAreWrittenInBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        lastLoginService.recordLogin("u1", now);
+        lastLoginService.recordLogin("u2", now);
+        lastLoginService.recordLogin("u3", now);
+
+        assertEquals(3, lastLoginService.flush());
+
+        verify(mongoTemplate, times(2)).bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        verify(bulkOperations, times(3)).updateOne(any(Query.class), any(Update.class));
+        verify(bulkOperations, times(2)).execute();
+    }
+
+    @Test
+    void failedFlushKeepsEntriesPending() {
+        lastLoginService.recordLogin("u1", LocalDateTime.now());
+        when(bulkOperations.execute()).thenThrow(new RuntimeException("mongo down"));
+
+        assertThrows(RuntimeException.class, () -> lastLoginService.flush());
+        assertEquals(1, lastLoginService.getPendingCount());
+    }
+}
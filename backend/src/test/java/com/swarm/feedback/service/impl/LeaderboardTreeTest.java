@@ -0,0 +1,64 @@
+package com.swarm.feedback.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTreeTest {
+
+    private static LeaderboardTree.Row row(String userId, int points) {
+        return new LeaderboardTree.Row(userId, points, userId, "Bronze", null);
+    }
+
+    @Test
+    void tiesAreOrderedByUserId() {
+        LeaderboardTree tree = new LeaderboardTree();
+        tree.insert(row("c", 10));
+        tree.insert(row("a", 10));
+        tree.insert(row("b", 20));
+
+        assertEquals(List.of("b", "a", "c"),
+                tree.range(0, 10).stream().map(r -> r.userId).collect(Collectors.toList()));
+        assertEquals(1, tree.rank(row("a", 10)));
+        assertEquals(-1, tree.rank(row("a", 11)));
+    }
+
+    @Test
+    void matchesSortedListUnderRandomUpdates() {
+        LeaderboardTree tree = new LeaderboardTree();
+        Map<String, LeaderboardTree.Row> current = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 20_000; step++) {
+            String userId = "u" + random.nextInt(500);
+            LeaderboardTree.Row previous = current.remove(userId);
+            if (previous != null) {
+                tree.remove(previous);
+            }
+            if (random.nextInt(10) > 0) {
+                LeaderboardTree.Row next = row(userId, random.nextInt(200));
+                tree.insert(next);
+                current.put(userId, next);
+            }
+        }
+
+        List<LeaderboardTree.Row> expected = new ArrayList<>(current.values());
+        expected.sort(LeaderboardTree.ORDER);
+
+        assertEquals(expected.size(), tree.size());
+        assertEquals(expected, tree.range(0, expected.size()));
+        assertEquals(expected.subList(37, 57), tree.range(37, 20));
+        assertEquals(expected.subList(expected.size() - 3, expected.size()), tree.range(expected.size() - 3, 20));
+        assertTrue(tree.range(expected.size() + 5, 20).isEmpty());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i, tree.rank(expected.get(i)));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.config.UserTopicSubscriptions;
+import com.swarm.feedback.event.InMemoryNotificationBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceImplTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private UserTopicSubscriptions subscriptions;
+
+    @Spy
+    private InMemoryNotificationBus notificationBus = new InMemoryNotificationBus();
+
+    @InjectMocks
+    private NotificationServiceImpl notificationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(notificationService, "maxPendingUsers", 2);
+        ReflectionTestUtils.setField(notificationService, "maxSubmissionsPerFrame", 2);
+        ReflectionTestUtils.invokeMethod(notificationService, "init");
+        lenient().when(subscriptions.hasLocalSubscriber(anyString())).thenReturn(true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void burstForOneUserIsSentAsOneFrame() {
+        for (int i = 0; i < 5; i++) {
+            notificationService.notifyNewFeedback("owner", "s1");
+        }
+        notificationService.notifyNewFeedback("owner", "s2");
+
+        assertEquals(1, notificationService.flush());
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/user/owner"), payload.capture());
+        Map<String, Object> frame = (Map<String, Object>) payload.getValue();
+        assertEquals("NEW_FEEDBACK", frame.get("type"));
+        assertEquals("s1", frame.get("submissionId"));
+        assertEquals(6, frame.get("count"));
+        assertEquals(Map.of("s1", 5, "s2", 1), frame.get("submissions"));
+        assertEquals(0, notificationService.getPendingCount());
+        assertEquals(0, notificationService.flush());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void boundsLimitPendingUsersAndSubmissionsPerFrame() {
+        notificationService.notifyNewFeedback("u1", "s1");
+        notificationService.notifyNewFeedback("u1", "s2");
+        notificationService.notifyNewFeedback("u1", "s3");
+        notificationService.notifyNewFeedback("u2", "s1");
+        notificationService.notifyNewFeedback("u3", "s1");
+
+        assertEquals(2, notificationService.getPendingCount());
+        assertEquals(2, notificationService.flush());
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/user/u1"), payload.capture());
+        Map<String, Object> frame = (Map<String, Object>) payload.getValue();
+        assertEquals(3, frame.get("count"));
+        assertEquals(Map.of("s1", 1, "s2", 1), frame.get("submissions"));
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/user/u3"), any(Object.class));
+    }
+
+    @Test
+    void usersWithoutALocalSubscriptionAreSkipped() {
+        when(subscriptions.hasLocalSubscriber("remote")).thenReturn(false);
+
+        notificationService.notifyNewFeedback("remote", "s1");
+
+        assertEquals(0, notificationService.getPendingCount());
+        assertEquals(0, notificationService.flush());
+        verifyNoInteractions(messagingTemplate);
+    }
+}
@@ -0,0 +1,221 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.model.User;
+import com.swarm.feedback.service.RatingDelta;
+import com.swarm.feedback.service.RatingRebuildResult;
+import com.swarm.feedback.service.SubmissionService;
+import com.swarm.feedback.service.UserStatsService;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingAggregateServiceImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private SubmissionService submissionService;
+
+    @Spy
+    @InjectMocks
+    private RatingAggregateServiceImpl ratingAggregateService;
+
+    private static Feedback feedback(String status, Integer rating) {
+        Feedback feedback = new Feedback();
+        feedback.setSubmissionId("s1");
+        feedback.setReviewerUserId("r1");
+        feedback.setStatus(status);
+        feedback.setRating(rating);
+        return feedback;
+    }
+
+    private RatingDelta receivedDelta() {
+        ArgumentCaptor<RatingDelta> delta = ArgumentCaptor.forClass(RatingDelta.class);
+        verify(ratingAggregateService).applyDelta(eq("s1"), delta.capture());
+        return delta.getValue();
+    }
+
+    private RatingDelta givenDelta() {
+        ArgumentCaptor<RatingDelta> delta = ArgumentCaptor.forClass(RatingDelta.class);
+        verify(userStatsService).recordGiven(eq("r1"), delta.capture());
+        return delta.getValue();
+    }
+
+    @Test
+    void approvalAddsRatingAndCount() {
+        ratingAggregateService.applyChange(feedback("PENDING", 4), feedback("APPROVED", 4));
+        assertEquals(4, receivedDelta().getSum());
+        assertEquals(1, receivedDelta().getCount());
+        assertTrue(givenDelta().isEmpty(), "status changes do not affect ratings given");
+    }
+
+    @Test
+    void rejectionOfApprovedFeedbackRemovesIt() {
+        ratingAggregateService.applyChange(feedback("APPROVED", 4), feedback("REJECTED", 4));
+        assertEquals(-4, receivedDelta().getSum());
+        assertEquals(-1, receivedDelta().getCount());
+    }
+
+    @Test
+    void adminEditOfApprovedFeedbackAdjustsSumOnly() {
+        ratingAggregateService.applyChange(feedback("APPROVED", 2), feedback("APPROVED", 5));
+        assertEquals(3, receivedDelta().getSum());
+        assertEquals(0, receivedDelta().getCount());
+        assertEquals(3, givenDelta().getSum());
+        assertEquals(0, givenDelta().getCount());
+    }
+
+    @Test
+    void pendingFeedbackOnlyCountsAsGiven() {
+        Feedback created = feedback("PENDING", 5);
+        created.setDimensionRatings(Map.of("clarity", 4, "bad.key", 3));
+        ratingAggregateService.applyChange(null, created);
+
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Submission.class));
+        RatingDelta given = givenDelta();
+        assertEquals(5, given.getSum());
+        assertEquals(1, given.getCount());
+        assertEquals(Map.of("clarity", 4L), given.getDimensionSums());
+    }
+
+    @Test
+    void deltaUpdatesSubmissionOwnerAndStatsWithoutReads() {
+        Submission submission = new Submission();
+        submission.setId("s1");
+        submission.setOwnerUserId("owner");
+        submission.setStatus("APPROVED");
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Submission.class))).thenReturn(submission);
+
+        RatingDelta delta = new RatingDelta().add(feedback("APPROVED", 5), 1);
+        ratingAggregateService.applyDelta("s1", delta);
+
+        verify(mongoTemplate).updateFirst(any(Query.class), any(UpdateDefinition.class), eq(User.class));
+        verify(userStatsService).recordReceived("owner", delta);
+        verify(submissionService).evictCached("s1", "APPROVED");
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Feedback.class));
+    }
+
+    @Test
+    void submissionDeltaIsASingleWriteThatReportsTheOwner() {
+        Submission submission = new Submission();
+        submission.setId("s1");
+        submission.setOwnerUserId("owner");
+        submission.setStatus("APPROVED");
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Submission.class))).thenReturn(submission);
+
+        assertEquals("owner", ratingAggregateService.applySubmissionDelta("s1",
+                new RatingDelta().add(feedback("APPROVED", 5), 1)));
+
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(UpdateDefinition.class), eq(User.class));
+        verifyNoInteractions(userStatsService);
+        verify(submissionService).evictCached("s1", "APPROVED");
+    }
+
+    @Test
+    void rebuildSetsEachTotalWithoutZeroingEverythingAndEvictsCaches() {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Feedback.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(
+                        List.of(new Document("_id", "s1").append("sum", 9L).append("count", 2)), new Document()));
+        Submission s1 = new Submission();
+        s1.setId("s1");
+        s1.setOwnerUserId("owner");
+        s1.setStatus("APPROVED");
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), eq(Submission.class)))
+                .thenReturn(s1);
+        Submission unrated = new Submission();
+        unrated.setId("s2");
+        unrated.setStatus("PENDING");
+        when(mongoTemplate.find(any(Query.class), eq(Submission.class))).thenReturn(List.of(unrated));
+        when(userStatsService.rebuild()).thenReturn(1);
+
+        RatingRebuildResult result = ratingAggregateService.rebuild();
+
+        assertEquals(1, result.getSubmissionsRated());
+        assertEquals(1, result.getUserStats());
+
+        // Only the stale submission is reset, one document at a time
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(UpdateDefinition.class),
+                eq(Submission.class));
+        ArgumentCaptor<Query> reset = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateFirst(reset.capture(), any(UpdateDefinition.class), eq(Submission.class));
+        assertEquals("s2", reset.getValue().getQueryObject().get("_id"));
+        verify(submissionService).evictCached("s1", "APPROVED");
+        verify(submissionService).evictCached("s2", "PENDING");
+    }
+
+    @Test
+    void deltasWaitForARunningRebuild() throws Exception {
+        CountDownLatch aggregating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Feedback.class), eq(Document.class)))
+                .thenAnswer(invocation -> {
+                    aggregating.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    order.add("rebuild");
+                    return new AggregationResults<>(List.of(), new Document());
+                });
+        when(userStatsService.rebuild()).thenAnswer(invocation -> {
+            order.add("user stats");
+            return 0;
+        });
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Submission.class))).thenAnswer(invocation -> {
+                    order.add("delta");
+                    return null;
+                });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<RatingRebuildResult> rebuild = executor.submit(() -> ratingAggregateService.rebuild());
+            assertTrue(aggregating.await(5, TimeUnit.SECONDS));
+            Future<?> delta = executor.submit(() -> ratingAggregateService.applyDelta("s1",
+                    new RatingDelta().add(feedback("APPROVED", 5), 1)));
+            Thread.sleep(100);
+            assertFalse(delta.isDone(), "delta must not run mid-rebuild");
+
+            release.countDown();
+            rebuild.get(5, TimeUnit.SECONDS);
+            delta.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(List.of("rebuild", "user stats", "delta"), order);
+    }
+}
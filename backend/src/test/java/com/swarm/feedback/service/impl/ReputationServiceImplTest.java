@@ -0,0 +1,90 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.model.User;
+import com.swarm.feedback.service.LeaderboardService;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReputationServiceImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @InjectMocks
+    private ReputationServiceImpl reputationService;
+
+    @Test
+    void reviewsGivenIsOneServerSideUpdateWithoutRead() {
+        User updated = new User();
+        updated.setId("r1");
+        updated.setPoints(15);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(User.class))).thenReturn(updated);
+
+        reputationService.recordReviewsGiven("r1", 3);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), options.capture(), eq(User.class));
+        verifyNoMoreInteractions(mongoTemplate);
+        assertTrue(options.getValue().isReturnNew());
+        verify(leaderboardService).update(updated);
+
+        assertEquals(new Document("_id", "r1"), query.getValue().getQueryObject());
+        assertEquals(ReputationServiceImpl.reviewsGivenUpdate(3).toPipeline(Aggregation.DEFAULT_CONTEXT),
+                ((AggregationUpdate) update.getValue()).toPipeline(Aggregation.DEFAULT_CONTEXT));
+    }
+
+    @Test
+    void reviewsGivenPipelineIncrementsServerSideAndDerivesTheLevelFromTheNewPoints() {
+        List<Document> pipeline = ReputationServiceImpl.reviewsGivenUpdate(3).toPipeline(Aggregation.DEFAULT_CONTEXT);
+
+        // Separate $set stages: the level stage sees the points written by the stage before it
+        assertEquals(List.of(
+                new Document("$set", new Document("points",
+                        new Document("$add", List.of(new Document("$ifNull", List.of("$points", 0)), 15)))),
+                new Document("$set", new Document("reviewsGiven",
+                        new Document("$add", List.of(new Document("$ifNull", List.of("$reviewsGiven", 0)), 3)))),
+                new Document("$set", new Document("level", new Document("$cond", new Document()
+                        .append("if", new Document("$gte", List.of("$points", ReputationServiceImpl.GOLD_THRESHOLD)))
+                        .append("then", "Gold")
+                        .append("else", new Document("$cond", new Document()
+                                .append("if", new Document("$gte",
+                                        List.of("$points", ReputationServiceImpl.SILVER_THRESHOLD)))
+                                .append("then", "Silver")
+                                .append("else", "Bronze"))))))),
+                pipeline);
+    }
+
+    @Test
+    void helpfulVoteIsAtomicIncrement() {
+        reputationService.recordHelpfulVote("r1");
+
+        ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(User.class));
+        assertEquals(new Document("helpfulVotes", 1), update.getValue().getUpdateObject().get("$inc"));
+    }
+}
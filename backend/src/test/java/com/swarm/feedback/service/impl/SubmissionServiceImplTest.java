@@ -0,0 +1,138 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.config.CacheConfig;
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.repository.KeysetPager;
+import com.swarm.feedback.repository.SubmissionRepository;
+import com.swarm.feedback.service.ApprovedFeedService;
+import com.swarm.feedback.service.SubmissionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(SubmissionServiceImplTest.Config.class)
+class SubmissionServiceImplTest {
+
+    @Configuration
+    @EnableCaching
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.SUBMISSIONS, CacheConfig.SUBMISSIONS_BY_STATUS);
+        }
+
+        @Bean
+        SubmissionService submissionService() {
+            return new SubmissionServiceImpl();
+        }
+    }
+
+    @MockBean
+    private SubmissionRepository submissionRepository;
+
+    @MockBean
+    private MongoTemplate mongoTemplate;
+
+    @MockBean
+    private KeysetPager keysetPager;
+
+    @MockBean
+    private ApprovedFeedService approvedFeedService;
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private static Submission submission(String id, String status) {
+        Submission submission = new Submission();
+        submission.setId(id);
+        submission.setStatus(status);
+        return submission;
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        submissionService.evictAllCached();
+        clearInvocations(approvedFeedService);
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromCache() {
+        when(submissionRepository.findById("s1")).thenReturn(Optional.of(submission("s1", "APPROVED")));
+
+        submissionService.getSubmissionById("s1");
+        submissionService.getSubmissionById("s1");
+        submissionService.getSubmissionById("s1");
+
+        verify(submissionRepository, times(1)).findById("s1");
+    }
+
+    @Test
+    void missingSubmissionsAreNotCached() {
+        when(submissionRepository.findById("nope")).thenReturn(Optional.empty());
+
+        assertTrue(submissionService.getSubmissionById("nope").isEmpty());
+        assertTrue(submissionService.getSubmissionById("nope").isEmpty());
+
+        verify(submissionRepository, times(2)).findById("nope");
+    }
+
+    @Test
+    void statusUpdateEvictsTheSubmissionAndBothStatusLists() {
+        when(submissionRepository.findById("s1")).thenReturn(Optional.of(submission("s1", "PENDING")));
+        when(submissionRepository.findByStatus(anyString())).thenReturn(List.of());
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(Submission.class))).thenReturn(submission("s1", "PENDING"));
+        submissionService.getSubmissionById("s1");
+        submissionService.getSubmissionsByStatus("PENDING");
+        submissionService.getSubmissionsByStatus("APPROVED");
+        submissionService.getSubmissionsByStatus("REJECTED");
+
+        Submission updated = submissionService.updateSubmissionStatus("s1", "APPROVED", null).orElseThrow();
+        assertEquals("APPROVED", updated.getStatus());
+
+        submissionService.getSubmissionById("s1");
+        submissionService.getSubmissionsByStatus("PENDING");
+        submissionService.getSubmissionsByStatus("APPROVED");
+        submissionService.getSubmissionsByStatus("REJECTED");
+        verify(submissionRepository, times(2)).findById("s1");
+        verify(submissionRepository, times(2)).findByStatus("PENDING");
+        verify(submissionRepository, times(2)).findByStatus("APPROVED");
+        verify(submissionRepository, times(1)).findByStatus("REJECTED");
+        verify(approvedFeedService).invalidate();
+    }
+
+    @Test
+    void creationEvictsItsStatusList() {
+        when(submissionRepository.findByStatus("PENDING")).thenReturn(List.of());
+        when(submissionRepository.save(any(Submission.class))).thenReturn(submission("s2", "PENDING"));
+        submissionService.getSubmissionsByStatus("PENDING");
+
+        submissionService.createSubmission(submission(null, "PENDING"));
+        submissionService.getSubmissionsByStatus("PENDING");
+
+        verify(submissionRepository, times(2)).findByStatus("PENDING");
+        assertNull(cacheManager.getCache(CacheConfig.SUBMISSIONS).get("s2"));
+        verify(approvedFeedService, never()).invalidate();
+    }
+}
@@ -0,0 +1,102 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.service.FileStorageService;
+import com.swarm.feedback.service.ThumbnailService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class ThumbnailServiceImplTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private Path variantDir;
+
+    private ThumbnailServiceImpl thumbnails;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        variantDir = Files.createDirectories(uploadDir.resolve(".variants"));
+        FileStorageService storage = Mockito.mock(FileStorageService.class);
+        when(storage.getUploadDir()).thenReturn(uploadDir);
+        when(storage.getVariantDir()).thenReturn(variantDir);
+
+        thumbnails = new ThumbnailServiceImpl();
+        ReflectionTestUtils.setField(thumbnails, "fileStorageService", storage);
+        ReflectionTestUtils.setField(thumbnails, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(thumbnails, "threads", 2);
+        ReflectionTestUtils.setField(thumbnails, "queueCapacity", 10);
+        ReflectionTestUtils.setField(thumbnails, "onDemandTimeoutMs", 10000L);
+        ReflectionTestUtils.setField(thumbnails, "maxSourcePixels", 40_000_000L);
+        ReflectionTestUtils.setField(thumbnails, "jpegQuality", 0.85f);
+        ReflectionTestUtils.invokeMethod(thumbnails, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnails.destroy();
+    }
+
+    @Test
+    void rendersEverySizeOnDemandFromOneDecode() throws Exception {
+        ImageIO.write(new BufferedImage(1000, 600, BufferedImage.TYPE_INT_RGB), "jpg",
+                uploadDir.resolve("photo.jpg").toFile());
+
+        Path small = thumbnails.thumbnail("photo.jpg", ThumbnailService.SMALL);
+
+        assertEquals(variantDir.resolve("photo.jpg.w80.jpg"), small);
+        BufferedImage smallImage = ImageIO.read(small.toFile());
+        assertEquals(133, smallImage.getWidth());
+        assertEquals(80, smallImage.getHeight());
+        assertTrue(Files.exists(variantDir.resolve("photo.jpg.w256.jpg")));
+        assertEquals(256, ImageIO.read(thumbnails.thumbnail("photo.jpg", ThumbnailService.MEDIUM).toFile())
+                .getHeight());
+    }
+
+    @Test
+    void transparentSourcesStayPngAndSmallSourcesAreNotUpscaled() throws Exception {
+        ImageIO.write(new BufferedImage(120, 100, BufferedImage.TYPE_INT_ARGB), "png",
+                uploadDir.resolve("logo.png").toFile());
+
+        Path medium = thumbnails.thumbnail("logo.png", ThumbnailService.MEDIUM);
+
+        assertEquals(variantDir.resolve("logo.png.w256.png"), medium);
+        BufferedImage image = ImageIO.read(medium.toFile());
+        assertEquals(120, image.getWidth());
+        assertTrue(image.getColorModel().hasAlpha());
+    }
+
+    @Test
+    void unsupportedRequestsReturnNull() throws Exception {
+        Files.writeString(uploadDir.resolve("notes.txt"), "text");
+        Files.writeString(uploadDir.resolve("broken.jpg"), "not really a jpeg");
+        ImageIO.write(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB), "jpg",
+                uploadDir.resolve("ok.jpg").toFile());
+
+        assertNull(thumbnails.thumbnail("notes.txt", ThumbnailService.SMALL));
+        assertNull(thumbnails.thumbnail("broken.jpg", ThumbnailService.SMALL));
+        assertNull(thumbnails.thumbnail("ok.jpg", 999));
+    }
+
+    @Test
+    void thumbnailUrlsPointAtTheSizedPath() {
+        assertEquals("http://host/uploads/w80/abc.jpg",
+                ThumbnailService.url("http://host/uploads/abc.jpg", ThumbnailService.SMALL));
+        assertEquals("https://cdn.example.com/a.jpg",
+                ThumbnailService.url("https://cdn.example.com/a.jpg", ThumbnailService.SMALL));
+        assertNull(ThumbnailService.url(null, ThumbnailService.SMALL));
+    }
+}
@@ -0,0 +1,176 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.model.Message;
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.model.UploadBlob;
+import com.swarm.feedback.model.User;
+import com.swarm.feedback.service.FileStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadGarbageCollectorTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry;
+
+    @InjectMocks
+    private UploadGarbageCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(collector, "gracePeriodHours", 24L);
+        lenient().when(fileStorageService.blobLock(anyString())).thenReturn(new ReentrantLock());
+        lenient().when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        lenient().when(mongoTemplate.getCollectionName(Submission.class)).thenReturn("submissions");
+        lenient().when(mongoTemplate.getCollectionName(Message.class)).thenReturn("messages");
+        lenient().when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("users"))).thenAnswer(inv -> Stream.of(
+                new Document("profilePic", "http://host/uploads/a.png"),
+                new Document("profilePic", "https://cdn.example.com/external.png")));
+        lenient().when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("submissions"))).thenAnswer(inv -> Stream.of(
+                new Document("fileUrls", List.of("http://host/uploads/a.png", "http://host/uploads/b.pdf"))));
+        lenient().when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("messages"))).thenAnswer(inv -> Stream.of(
+                new Document("mediaUrl", "")));
+    }
+
+    @Test
+    void countsReferencesAcrossCollections() {
+        assertEquals(Map.of("a.png", 2, "b.pdf", 1), collector.countReferences());
+    }
+
+    @Test
+    void deletesOnlyUnreferencedFilesPastTheGracePeriod() throws Exception {
+        when(fileStorageService.getUploadDir()).thenReturn(uploadDir);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UploadBlob.class)).thenReturn(bulkOperations);
+        FileTime old = FileTime.from(Instant.now().minus(Duration.ofDays(2)));
+        Path referenced = Files.writeString(uploadDir.resolve("a.png"), "a");
+        Path orphan = Files.writeString(uploadDir.resolve("c.txt"), "c");
+        Path fresh = Files.writeString(uploadDir.resolve("d.txt"), "d");
+        Path stalePart = Files.writeString(uploadDir.resolve(".upload-1.part"), "p");
+        Files.setLastModifiedTime(referenced, old);
+        Files.setLastModifiedTime(orphan, old);
+        Files.setLastModifiedTime(stalePart, old);
+
+        assertEquals(2, collector.collect());
+
+        assertTrue(Files.exists(referenced));
+        assertTrue(Files.exists(fresh));
+        assertFalse(Files.exists(orphan));
+        assertFalse(Files.exists(stalePart));
+        verify(bulkOperations, times(2)).upsert(any(Query.class), any(Update.class));
+        verify(bulkOperations).execute();
+        verify(mongoTemplate).remove(any(Query.class), eq(UploadBlob.class));
+    }
+
+    @Test
+    void keepsABlobRefreshedByADuplicateUploadAfterTheFirstAgeCheck() throws Exception {
+        when(fileStorageService.getUploadDir()).thenReturn(uploadDir);
+        Path blob = Files.writeString(uploadDir.resolve("e.png"), "e");
+        Files.setLastModifiedTime(blob, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        // The duplicate upload gets the lock first and refreshes the age, as storeAssembled does
+        when(fileStorageService.blobLock("e.png")).thenAnswer(invocation -> {
+            Files.setLastModifiedTime(blob, FileTime.from(Instant.now()));
+            return new ReentrantLock();
+        });
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UploadBlob.class)).thenReturn(bulkOperations);
+
+        assertEquals(0, collector.collect());
+
+        assertTrue(Files.exists(blob));
+    }
+
+    @Test
+    void keepsABlobReferencedAfterTheCount() throws Exception {
+        when(fileStorageService.getUploadDir()).thenReturn(uploadDir);
+        Path blob = Files.writeString(uploadDir.resolve("f.mp4"), "f");
+        Files.setLastModifiedTime(blob, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        // Only a message saved after countReferences() points at it
+        when(mongoTemplate.exists(any(Query.class), any(Class.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1) == Message.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UploadBlob.class)).thenReturn(bulkOperations);
+
+        assertEquals(0, collector.collect());
+
+        assertTrue(Files.exists(blob));
+        ArgumentCaptor<Query> check = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).exists(check.capture(), eq(Message.class));
+        assertTrue(check.getValue().getQueryObject().toString().contains("f.mp4"));
+    }
+
+    @Test
+    void keepsFilesReferencedByPercentEncodedLegacyUrls() throws Exception {
+        when(fileStorageService.getUploadDir()).thenReturn(uploadDir);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UploadBlob.class)).thenReturn(bulkOperations);
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("messages"))).thenAnswer(inv -> Stream.of(
+                new Document("mediaUrl", "http://localhost:8082/uploads/my%20report.pdf")));
+        FileTime old = FileTime.from(Instant.now().minus(Duration.ofDays(2)));
+        Path counted = Files.writeString(uploadDir.resolve("my report.pdf"), "r");
+        Path savedLater = Files.writeString(uploadDir.resolve("photo (1).jpg"), "p");
+        Files.setLastModifiedTime(counted, old);
+        Files.setLastModifiedTime(savedLater, old);
+        // A message referencing the second file by its encoded URL is saved after the count
+        when(mongoTemplate.exists(any(Query.class), any(Class.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            Object regex = query.getQueryObject().get("mediaUrl");
+            return invocation.getArgument(1) == Message.class && regex != null
+                    && Pattern.compile(regex.toString()).matcher("http://localhost:8082/uploads/photo%20(1).jpg").find();
+        });
+
+        assertEquals(0, collector.collect());
+
+        assertTrue(Files.exists(counted));
+        assertTrue(Files.exists(savedLater));
+    }
+
+    @Test
+    void extractsFileNamesFromUploadUrls() {
+        assertEquals("x.jpg", UploadGarbageCollector.fileName("http://localhost:8082/uploads/x.jpg?v=1"));
+        assertEquals("my report.pdf", UploadGarbageCollector.fileName("/uploads/my%20report.pdf"));
+        assertEquals("100%.txt", UploadGarbageCollector.fileName("/uploads/100%.txt"));
+        assertNull(UploadGarbageCollector.fileName("/uploads/a%2Fb.txt"));
+        assertNull(UploadGarbageCollector.fileName("http://localhost:8082/uploads/"));
+        assertNull(UploadGarbageCollector.fileName("http://localhost:8082/static/x.jpg"));
+        assertNull(UploadGarbageCollector.fileName(null));
+    }
+}
@@ -0,0 +1,126 @@
+package com.swarm.feedback.service.impl;
+
+import com.swarm.feedback.model.Feedback;
+import com.swarm.feedback.model.Submission;
+import com.swarm.feedback.model.UserStats;
+import com.swarm.feedback.service.RatingDelta;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatsServiceImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private UserStatsServiceImpl userStatsService;
+
+    @Test
+    void rebuildSetsEachUsersTotalsAndRemovesOnlyUsersWithoutFeedback() {
+        stubScan();
+
+        assertEquals(2, userStatsService.rebuild());
+
+        ArgumentCaptor<Query> byUser = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> totals = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).upsert(byUser.capture(), totals.capture(), eq(UserStats.class));
+        Map<String, Document> setByUser = Map.of(
+                (String) byUser.getAllValues().get(0).getQueryObject().get("_id"),
+                (Document) totals.getAllValues().get(0).getUpdateObject().get("$set"),
+                (String) byUser.getAllValues().get(1).getQueryObject().get("_id"),
+                (Document) totals.getAllValues().get(1).getUpdateObject().get("$set"));
+        assertEquals(1, setByUser.get("reviewer").get("givenCount"));
+        assertEquals(4L, setByUser.get("reviewer").get("givenSum"));
+        assertEquals(0, setByUser.get("reviewer").get("receivedCount"));
+        assertEquals(1, setByUser.get("owner").get("receivedCount"));
+        assertEquals(4L, setByUser.get("owner").get("receivedSum"));
+        assertEquals(0, setByUser.get("owner").get("givenCount"));
+        totals.getAllValues().forEach(update -> assertNull(update.getUpdateObject().get("$inc")));
+
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(removed.capture(), eq(UserStats.class));
+        assertEquals(new Document("_id", new Document("$nin", List.of("owner", "reviewer"))).toJson(),
+                sortedNin(removed.getValue().getQueryObject()).toJson());
+    }
+
+    @Test
+    void incrementsWaitForARunningRebuild() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mongoTemplate.stream(any(Query.class), eq(Submission.class))).thenAnswer(invocation -> {
+            scanning.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Stream.empty();
+        });
+        when(mongoTemplate.stream(any(Query.class), eq(Feedback.class))).thenAnswer(invocation -> Stream.empty());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> rebuild = executor.submit(() -> userStatsService.rebuild());
+            assertTrue(scanning.await(5, TimeUnit.SECONDS));
+            Future<?> increment = executor.submit(() -> userStatsService.recordGiven("reviewer",
+                    new RatingDelta().add(feedback("s1", "reviewer", "PENDING", 3), 1)));
+            Thread.sleep(100);
+            assertFalse(increment.isDone(), "increment must not run mid-rebuild");
+            verify(mongoTemplate, never()).upsert(any(Query.class), any(UpdateDefinition.class),
+                    eq(UserStats.class));
+
+            release.countDown();
+            rebuild.get(5, TimeUnit.SECONDS);
+            increment.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(mongoTemplate).upsert(any(Query.class), any(UpdateDefinition.class), eq(UserStats.class));
+    }
+
+    private void stubScan() {
+        Submission submission = new Submission();
+        submission.setId("s1");
+        submission.setOwnerUserId("owner");
+        when(mongoTemplate.stream(any(Query.class), eq(Submission.class)))
+                .thenAnswer(invocation -> Stream.of(submission));
+        when(mongoTemplate.stream(any(Query.class), eq(Feedback.class)))
+                .thenAnswer(invocation -> Stream.of(feedback("s1", "reviewer", "APPROVED", 4)));
+    }
+
+    private static Document sortedNin(Document query) {
+        Document id = (Document) query.get("_id");
+        List<String> users = ((Collection<?>) id.get("$nin")).stream().map(String::valueOf).sorted()
+                .toList();
+        return new Document("_id", new Document("$nin", users));
+    }
+
+    private static Feedback feedback(String submissionId, String reviewerId, String status, int rating) {
+        Feedback feedback = new Feedback();
+        feedback.setSubmissionId(submissionId);
+        feedback.setReviewerUserId(reviewerId);
+        feedback.setStatus(status);
+        feedback.setRating(rating);
+        return feedback;
+    }
+}
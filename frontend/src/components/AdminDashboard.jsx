@@ -30,10 +30,10 @@ const AdminDashboard = () => {
         try {
             // Load everything needed for users tab calculation or home tab summaries
             const [subsRes, feedsRes, usersRes, msgsRes] = await Promise.all([
-                api.get('/submissions'),
-                api.get('/feedback'),
-                (activeTab === 'users' || activeTab === 'home') ? api.get('/users') : Promise.resolve({ data: [] }),
-                (activeTab === 'home') ? api.get('/messages') : Promise.resolve({ data: [] })
+                api.get('/submissions', { params: { unpaged: true } }),
+                api.get('/feedback', { params: { unpaged: true } }),
+                (activeTab === 'users' || activeTab === 'home') ? api.get('/users', { params: { unpaged: true } }) : Promise.resolve({ data: [] }),
+                (activeTab === 'home') ? api.get('/messages', { params: { unpaged: true } }) : Promise.resolve({ data: [] })
             ]);
 
             setSubmissions(subsRes.data || []);
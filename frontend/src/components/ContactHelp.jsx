@@ -3,6 +3,7 @@ import Card from './ui/Card';
 import Button from './ui/Button';
 import { Upload, Send } from 'lucide-react';
 import api from '../services/api';
+import UploadService from '../services/upload.service';
 import { toast } from 'react-hot-toast';
 
 const ContactHelp = () => {
@@ -27,12 +28,8 @@ const ContactHelp = () => {
             let mediaUrl = '';
 
             if (file) {
-                const uploadData = new FormData();
-                uploadData.append('file', file);
-                const uploadRes = await api.post('/files/upload', uploadData, {
-                    headers: { 'Content-Type': 'multipart/form-data' }
-                });
-                mediaUrl = uploadRes.data.url;
+                const uploaded = await UploadService.uploadFile(file);
+                mediaUrl = uploaded.url;
             }
 
             await api.post('/messages', {
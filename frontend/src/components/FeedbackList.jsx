@@ -22,7 +22,7 @@ const FeedbackList = ({ refreshTrigger }) => {
     const fetchFeedbacks = async () => {
         try {
             setLoading(true);
-            const response = await api.get('/feedback'); // Use generic endpoint to get enriched data including replies
+            const response = await api.get('/feedback', { params: { unpaged: true } }); // Use generic endpoint to get enriched data including replies
 
             // Filter locally for "my" feedback since the generic one returns everything for admin. 
             // Better to use a specific endpoint, but let's stick to what works for getting enriched data.
@@ -34,7 +34,7 @@ const FeedbackList = ({ refreshTrigger }) => {
             // Ideally we should use the enriched endpoint or update /my to return enriched data.
             // For now, let's use /feedback/my and assume we get the model fields.
 
-            const myRes = await api.get('/feedback/my');
+            const myRes = await api.get('/feedback/my', { params: { unpaged: true } });
             setFeedbacks(myRes.data || []);
             setError(null);
         } catch (err) {
@@ -21,7 +21,7 @@ const Home = () => {
             try {
                 if (isReviewer) {
                     // Fetch reviewer-specific stats
-                    const feedbackRes = await api.get('/feedback/my'); // Returns reviews given
+                    const feedbackRes = await api.get('/feedback/my', { params: { unpaged: true } }); // Returns reviews given
                     const myReviews = feedbackRes.data || [];
 
                     const dist = {};
@@ -41,10 +41,10 @@ const Home = () => {
                     });
                 } else {
                     // Fetch submitter-specific stats
-                    const submissionsRes = await api.get('/submissions/my');
+                    const submissionsRes = await api.get('/submissions/my', { params: { unpaged: true } });
                     const submissions = submissionsRes.data || [];
 
-                    const feedbackRes = await api.get('/feedback/my');
+                    const feedbackRes = await api.get('/feedback/my', { params: { unpaged: true } });
                     const feedback = feedbackRes.data || [];
 
                     setStats({
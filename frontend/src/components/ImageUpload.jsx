@@ -73,12 +73,10 @@ const ImageUpload = ({ currentImage, onImageUpdate }) => {
             setUploading(true);
             const croppedImageBlob = await getCroppedImg(imageSrc, croppedAreaPixels);
 
-            const formData = new FormData();
-            formData.append('file', croppedImageBlob, 'profile.jpg');
-
-            const response = await api.post('/users/me/picture', formData, {
+            // Raw body: streamed by the backend straight into uploads/
+            const response = await api.put('/users/me/picture', croppedImageBlob, {
                 headers: {
-                    'Content-Type': 'multipart/form-data',
+                    'Content-Type': 'image/jpeg',
                 },
             });
 
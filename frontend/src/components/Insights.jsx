@@ -14,14 +14,14 @@ const Insights = () => {
     const fetchInsights = async () => {
         try {
             // Fetch my submissions
-            const subRes = await api.get('/submissions/my');
+            const subRes = await api.get('/submissions/my', { params: { unpaged: true } });
             const submissions = subRes.data;
 
             // Fetch feedback for these submissions
             // Ideally backend aggregating this is better, but doing client-side for now as per prompt "compute per-dimension averages on Submission and User" (could be backend, but I chose client for speed)
             // Wait, I didn't implement backend aggregation endpoint yet.
             // I'll fetch feedback for each submission or all feedback received.
-            const feedRes = await api.get('/feedback/my'); // This gets received feedback for submitter
+            const feedRes = await api.get('/feedback/my', { params: { unpaged: true } }); // This gets received feedback for submitter
             const feedbacks = feedRes.data.filter(f => f.status === 'APPROVED');
 
             // Process Data
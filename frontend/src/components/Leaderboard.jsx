@@ -36,7 +36,7 @@ const Leaderboard = () => {
                             </div>
                             <div className="w-12 h-12 rounded-full bg-gray-700 overflow-hidden border border-white/20">
                                 {user.profilePic ? (
-                                    <img src={user.profilePic} alt={user.username} className="w-full h-full object-cover" />
+                                    <img src={user.profilePicSmall || user.profilePic} alt={user.username} className="w-full h-full object-cover" />
                                 ) : (
                                     <div className="w-full h-full flex items-center justify-center text-gray-400"><User size={20} /></div>
                                 )}
@@ -67,7 +67,7 @@ const Profile = () => {
 
     const fetchReviewerStats = async () => {
         try {
-            const response = await api.get('/feedback/my');
+            const response = await api.get('/feedback/my', { params: { unpaged: true } });
             const myFeedback = response.data || [];
             const count = myFeedback.length;
             const sum = myFeedback.reduce((acc, curr) => acc + (curr.rating || 0), 0);
@@ -156,7 +156,7 @@ const Profile = () => {
                                     <div className="absolute inset-0 rounded-full bg-gradient-to-br from-blue-500 via-purple-500 to-pink-500 opacity-75 blur-md group-hover:opacity-100 transition-opacity"></div>
                                     <div className="relative w-full h-full rounded-full bg-gradient-to-br from-blue-500/30 to-purple-500/30 border-2 border-white/20 flex items-center justify-center overflow-hidden backdrop-blur-sm">
                                         {user.profilePic ? (
-                                            <img src={user.profilePic} alt={user.username} className="w-full h-full object-cover" />
+                                            <img src={user.profilePicMedium || user.profilePic} alt={user.username} className="w-full h-full object-cover" />
                                         ) : (
                                             <User size={72} className="text-gray-300" />
                                         )}
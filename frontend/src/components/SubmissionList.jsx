@@ -31,7 +31,7 @@ const SubmissionList = ({ refreshTrigger, mode }) => {
                 endpoint = '/submissions/my';
             }
 
-            const response = await api.get(endpoint);
+            const response = await api.get(endpoint, { params: { unpaged: true } });
             setSubmissions(response.data || []);
             setError(null);
         } catch (err) {
@@ -24,11 +24,13 @@ const MainLayout = ({ children }) => {
                     // Check if message body is JSON
                     let msg = "You have received new feedback!";
                     try {
-                        // backend sends: Map("type", "NEW_FEEDBACK", "submissionId", ...)
-                        // STOMP body is stringified JSON
+                        // backend sends: { type: "NEW_FEEDBACK", submissionId, count, submissions }
+                        // with events coalesced per user; STOMP body is stringified JSON
                         const body = JSON.parse(message.body);
                         if (body.type === 'NEW_FEEDBACK') {
-                            msg = "New feedback received on your project!";
+                            msg = body.count > 1
+                                ? `${body.count} new feedback received on your projects!`
+                                : "New feedback received on your project!";
                         }
                     } catch (e) {
                         // ignore
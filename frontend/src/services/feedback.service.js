@@ -1,7 +1,7 @@
 import api from './api';
 
 const getAllFeedback = () => {
-    return api.get('/feedback');
+    return api.get('/feedback', { params: { unpaged: true } });
 };
 
 const createFeedback = (feedback) => {
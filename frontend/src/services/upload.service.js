@@ -0,0 +1,97 @@
+import api from './api';
+import { Sha256 } from './sha256';
+
+// Files up to this size go up in one streaming request
+const SINGLE_REQUEST_LIMIT = 8 * 1024 * 1024;
+const PARALLEL_CHUNKS = 3;
+const CHUNK_RETRIES = 3;
+// Only this much of the file is held in memory while hashing it
+const HASH_SLICE = 4 * 1024 * 1024;
+
+const sessionKey = (file) => `upload:${file.name}:${file.size}:${file.lastModified}`;
+
+const sha256Hex = async (file) => {
+    const hash = new Sha256();
+    for (let start = 0; start < file.size; start += HASH_SLICE) {
+        hash.update(await file.slice(start, start + HASH_SLICE).arrayBuffer());
+    }
+    return hash.hex();
+};
+
+// Reuses the session of an interrupted attempt at the same file, if it has not expired
+const openSession = async (file) => {
+    const savedId = sessionStorage.getItem(sessionKey(file));
+    if (savedId) {
+        try {
+            return (await api.get(`/files/sessions/${savedId}`)).data;
+        } catch {
+            sessionStorage.removeItem(sessionKey(file));
+        }
+    }
+    const session = (await api.post('/files/sessions', {
+        fileName: file.name,
+        contentType: file.type || 'application/octet-stream',
+        size: file.size,
+    })).data;
+    sessionStorage.setItem(sessionKey(file), session.id);
+    return session;
+};
+
+const putChunk = async (session, file, index) => {
+    const start = index * session.chunkSize;
+    const chunk = file.slice(start, Math.min(file.size, start + session.chunkSize));
+    for (let attempt = 1; ; attempt++) {
+        try {
+            await api.put(`/files/sessions/${session.id}/chunks/${index}`, chunk, {
+                headers: { 'Content-Type': 'application/octet-stream' },
+            });
+            return;
+        } catch (error) {
+            const status = error.response?.status;
+            if (attempt >= CHUNK_RETRIES || (status >= 400 && status < 500 && status !== 409)) {
+                throw error;
+            }
+            await new Promise((resolve) => setTimeout(resolve, 500 * attempt));
+        }
+    }
+};
+
+const uploadChunked = async (file) => {
+    const session = await openSession(file);
+    const received = new Set(session.received);
+    const pending = [];
+    for (let index = 0; index < session.chunkCount; index++) {
+        if (!received.has(index)) {
+            pending.push(index);
+        }
+    }
+
+    const worker = async () => {
+        while (pending.length > 0) {
+            await putChunk(session, file, pending.shift());
+        }
+    };
+    await Promise.all(Array.from({ length: PARALLEL_CHUNKS }, worker));
+
+    const result = await api.post(`/files/sessions/${session.id}/complete`, { sha256: await sha256Hex(file) });
+    sessionStorage.removeItem(sessionKey(file));
+    return result.data;
+};
+
+/** Uploads a file and resolves to { url, size }; large files use a resumable chunked session. */
+const uploadFile = async (file) => {
+    if (file.size <= SINGLE_REQUEST_LIMIT) {
+        const response = await api.post('/files/stream', file, {
+            params: { name: file.name },
+            headers: { 'Content-Type': file.type || 'application/octet-stream' },
+        });
+        return response.data;
+    }
+    return uploadChunked(file);
+};
+
+const UploadService = {
+    uploadFile,
+};
+
+export default UploadService;